@@ -0,0 +1,142 @@
+package bench;
+
+// User defined libraries
+import src.algorithm.BF;
+import src.algorithm.Buddy;
+import src.algorithm.FF;
+import src.algorithm.NF;
+import src.algorithm.TLSF;
+import src.algorithm.WF;
+import src.memory.Distribution;
+import src.memory.MemorySlot;
+import src.memory.Process;
+import src.memory.ProcessTable;
+import src.memory.Workload;
+
+// JMH libraries
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+// Java SDK libraries
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * <p>The <code>AllocateSlotBenchmark</code> class measures the throughput of
+ * <code>allocateSlot</code> for each memory allocation method, over every
+ * combination of slot count, process count and size distribution.
+ *
+ * <p>Each invocation offers every process of the workload to a fresh
+ * allocator, once, in file order. The <code>calls</code> counter is reported
+ * as <code>allocateSlot</code> calls per second, and the
+ * <code>allocated</code> counter as successful calls per second.
+ *
+ * @author Richard I. Zhunio
+ * @see Workloads
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class AllocateSlotBenchmark {
+	/** Memory allocation method to measure */
+	@Param({"FF", "NF", "BF", "WF", "Buddy", "TLSF"})
+	public String algorithm;
+
+	/** Number of memory slots */
+	@Param({"1000", "100000", "10000000"})
+	public int slots;
+
+	/** Number of processes */
+	@Param({"1000", "100000", "10000000"})
+	public int processes;
+
+	/** Distribution of slot and process sizes */
+	@Param({"UNIFORM", "BIMODAL", "HEAVY_TAILED"})
+	public Distribution distribution;
+
+	/** Workload shared by every invocation */
+	private Workload workload;
+
+	/** Processes offered to the allocator */
+	private ProcessTable processTable;
+
+	/** allocateSlot of an allocator with its own copy of the workload */
+	private Function<Process, MemorySlot> allocateSlot;
+
+	/**
+	 * Counts the calls made to <code>allocateSlot</code>.
+	 */
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.OPERATIONS)
+	public static class Calls {
+		/** Calls made to allocateSlot */
+		public long calls;
+
+		/** Calls that allocated the process */
+		public long allocated;
+	}
+
+	@Setup(Level.Trial)
+	public void generate() {
+		workload = Workloads.generate(slots, processes, distribution);
+		processTable = workload.processes();
+	}
+
+	@Setup(Level.Invocation)
+	public void create() {
+		switch (algorithm) {
+			case "FF":
+				allocateSlot = new FF(workload)::allocateSlot;
+				break;
+			case "NF":
+				allocateSlot = new NF(workload)::allocateSlot;
+				break;
+			case "BF":
+				allocateSlot = new BF(workload)::allocateSlot;
+				break;
+			case "WF":
+				allocateSlot = new WF(workload)::allocateSlot;
+				break;
+			case "Buddy":
+				allocateSlot = new Buddy(workload)::allocateSlot;
+				break;
+			case "TLSF":
+				allocateSlot = new TLSF(workload)::allocateSlot;
+				break;
+			default:
+				throw new IllegalArgumentException("Not supported memory allocator "
+					+ "algorithm: " + algorithm);
+		}
+	}
+
+	@Benchmark
+	public void allocateSlot(Calls counters, Blackhole blackhole) {
+		Process process = new Process(0, 0);
+
+		for (int index = 0; index < processTable.size(); index++) {
+			process.id = processTable.getId(index);
+			process.size = processTable.getSize(index);
+
+			MemorySlot slot = allocateSlot.apply(process);
+			if (slot != null) counters.allocated++;
+			blackhole.consume(slot);
+		}
+
+		counters.calls += processTable.size();
+	}
+}
@@ -0,0 +1,264 @@
+package bench;
+
+// User defined libraries
+import src.memory.ConcurrentAllocator;
+import src.memory.Distribution;
+import src.memory.MemorySlot;
+import src.memory.ShardedAllocator;
+import src.memory.Workload;
+
+// Java SDK libraries
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * <p>The <code>ConcurrentStress</code> class is a stress harness for the
+ * {@link ConcurrentAllocator}, or for the {@link ShardedAllocator} when a
+ * number of shards is given. Many threads allocate from the same memory
+ * slots at once until every one of them runs out of space, free every other
+ * process they allocated, and allocate again until they run out of space, so
+ * that the freed holes are reused. Then the processes still allocated by all
+ * threads are checked:
+ * <ul>
+ * <li>every placement lies inside its memory slot,</li>
+ * <li>no two placements overlap,</li>
+ * <li>every memory slot holds exactly the processes placed in it, at the
+ * same addresses, and</li>
+ * <li>the free space of each memory slot adds up with the processes to its
+ * size.</li>
+ * </ul>
+ *
+ * <p>Usage: <code>ConcurrentStress [threads] [slots] [rounds] [shards]</code>
+ *
+ * @author Richard I. Zhunio
+ */
+public class ConcurrentStress {
+	/**
+	 * The operations shared by both allocators.
+	 */
+	private interface Allocator {
+		long allocate(int processId, int processSize);
+
+		boolean free(int processId, long placement);
+
+		long freeSpace(int position);
+	}
+
+	public static void main(String[] args) throws InterruptedException {
+		int threads = args.length > 0 ? Integer.parseInt(args[0])
+			: Runtime.getRuntime().availableProcessors();
+		int slots = args.length > 1 ? Integer.parseInt(args[1]) : 64;
+		int rounds = args.length > 2 ? Integer.parseInt(args[2]) : 20;
+		int shards = args.length > 3 ? Integer.parseInt(args[3]) : 0;
+
+		System.out.print(stress(threads, slots, rounds, shards));
+	}
+
+	/**
+	 * Runs the given number of rounds, throwing an
+	 * <code>AssertionError</code> on the first problem found.
+	 *
+	 * @param threads the number of threads allocating at once.
+	 * @param slots   the number of memory slots.
+	 * @param rounds  the number of rounds, each one on new memory slots.
+	 * @param shards  the number of shards, or 0 for the concurrent allocator.
+	 * @return the statistics of the shards in the last round, if any, and a
+	 * summary line.
+	 * @throws InterruptedException if interrupted while waiting for the
+	 *                              threads.
+	 */
+	static String stress(int threads, int slots, int rounds, int shards)
+		throws InterruptedException {
+		StringBuilder output = new StringBuilder();
+		for (int round = 0; round < rounds; round++) {
+			// Few slots for many processes, so threads contend on every slot
+			Workload workload = Workloads.generate(slots, slots * 200, Distribution.UNIFORM);
+			List<MemorySlot> mList = workload.slots();
+			Allocator allocator;
+			ShardedAllocator sharded = null;
+			if (shards > 0) {
+				ShardedAllocator shardedAllocator = new ShardedAllocator(mList, shards);
+				sharded = shardedAllocator;
+				allocator = new Allocator() {
+					@Override
+					public long allocate(int processId, int processSize) {
+						return shardedAllocator.allocate(processId, processSize);
+					}
+
+					@Override
+					public boolean free(int processId, long placement) {
+						return shardedAllocator.free(processId, placement);
+					}
+
+					@Override
+					public long freeSpace(int position) {
+						return shardedAllocator.freeSpace(position);
+					}
+				};
+			} else {
+				ConcurrentAllocator concurrent = new ConcurrentAllocator(mList);
+				allocator = new Allocator() {
+					@Override
+					public long allocate(int processId, int processSize) {
+						return concurrent.allocate(processId, processSize);
+					}
+
+					@Override
+					public boolean free(int processId, long placement) {
+						return concurrent.free(processId, placement);
+					}
+
+					@Override
+					public long freeSpace(int position) {
+						return concurrent.freeSpace(position);
+					}
+				};
+			}
+
+			// Each thread records the ids, placements and sizes it still holds
+			int[][] ids = new int[threads][];
+			long[][] placements = new long[threads][];
+			int[][] sizes = new int[threads][];
+			CountDownLatch start = new CountDownLatch(1);
+			AtomicReference<Throwable> failure = new AtomicReference<>();
+			List<Thread> workers = new ArrayList<>();
+			for (int t = 0; t < threads; t++) {
+				int thread = t;
+				Thread worker = new Thread(() -> {
+					SplittableRandom random = new SplittableRandom(thread);
+					int[] owned = new int[1024];
+					long[] placed = new long[1024];
+					int[] sized = new int[1024];
+					int count = 0;
+					int next = 0;
+					awaitQuietly(start);
+
+					for (int pass = 0; pass < 2; pass++) {
+						// Allocate until a request finds no space
+						while (true) {
+							// Ids of this thread never clash with the ids of other threads
+							int id = thread + threads * next++;
+							int size = 1 + random.nextInt(2 * Workloads.PROCESS_MEAN);
+							long placement = allocator.allocate(id, size);
+							if (placement == ConcurrentAllocator.NO_SPACE) break;
+							if (count == placed.length) {
+								owned = Arrays.copyOf(owned, 2 * count);
+								placed = Arrays.copyOf(placed, 2 * count);
+								sized = Arrays.copyOf(sized, 2 * count);
+							}
+							owned[count] = id;
+							placed[count] = placement;
+							sized[count++] = size;
+						}
+
+						if (pass == 1) break;
+
+						// Free every other process, leaving holes between the others
+						int kept = 0;
+						for (int i = 0; i < count; i++) {
+							if (i % 2 == 0) {
+								if (!allocator.free(owned[i], placed[i]))
+									throw new AssertionError("Process " + owned[i] + " not freed");
+								continue;
+							}
+							owned[kept] = owned[i];
+							placed[kept] = placed[i];
+							sized[kept++] = sized[i];
+						}
+						count = kept;
+					}
+
+					ids[thread] = Arrays.copyOf(owned, count);
+					placements[thread] = Arrays.copyOf(placed, count);
+					sizes[thread] = Arrays.copyOf(sized, count);
+				});
+				// Keep the first failure of any thread to throw it afterwards
+				worker.setUncaughtExceptionHandler((thrown, e) -> failure.compareAndSet(null, e));
+				workers.add(worker);
+				worker.start();
+			}
+
+			start.countDown();
+			for (Thread worker : workers) worker.join();
+			if (failure.get() != null)
+				throw new AssertionError("Thread failed in round " + round, failure.get());
+
+			check(mList, allocator, ids, placements, sizes);
+
+			// Show how the last round spread over the shards
+			if (sharded != null && round == rounds - 1) output.append(sharded);
+		}
+
+		return output.append("OK: ").append(rounds).append(" rounds, ")
+			.append(threads).append(" threads, ").append(slots).append(" slots")
+			.append(shards > 0 ? ", " + shards + " shards" : "")
+			.append(System.lineSeparator()).toString();
+	}
+
+	/**
+	 * Checks the processes still held by every thread, throwing an
+	 * <code>AssertionError</code> on the first problem found.
+	 */
+	private static void check(List<MemorySlot> mList, Allocator allocator,
+							  int[][] ids, long[][] placements, int[][] sizes) {
+		// Gather every placement as start and end, and by slot position
+		List<long[]> ranges = new ArrayList<>();
+		List<Map<Integer, Integer>> starts = new ArrayList<>();
+		for (int position = 0; position < mList.size(); position++)
+			starts.add(new HashMap<>());
+		long[] claimed = new long[mList.size()];
+		for (int t = 0; t < placements.length; t++) {
+			for (int i = 0; i < placements[t].length; i++) {
+				int position = ConcurrentAllocator.slotOf(placements[t][i]);
+				int start = ConcurrentAllocator.addressOf(placements[t][i]);
+				long end = (long) start + sizes[t][i];
+				MemorySlot slot = mList.get(position);
+				if (start < slot.getStart() || end > slot.getEnd())
+					throw new AssertionError("Placement outside slot " + slot);
+				ranges.add(new long[]{start, end});
+				starts.get(position).put(ids[t][i], start);
+				claimed[position] += sizes[t][i];
+			}
+		}
+
+		// Slots do not overlap, so sorted placements must not overlap either
+		ranges.sort((a, b) -> Long.compare(a[0], b[0]));
+		for (int i = 1; i < ranges.size(); i++)
+			if (ranges.get(i)[0] < ranges.get(i - 1)[1])
+				throw new AssertionError("Overlapping placements at " + ranges.get(i)[0]);
+
+		for (int position = 0; position < mList.size(); position++) {
+			MemorySlot slot = mList.get(position);
+
+			// The slot holds exactly the processes placed in it
+			Map<Integer, Integer> placed = starts.get(position);
+			if (slot.processCount() != placed.size())
+				throw new AssertionError("Wrong process count in slot " + slot);
+			for (int index = 0; index < slot.processCount(); index++) {
+				Integer start = placed.get(slot.processId(index));
+				if (start == null || start != slot.processStart(index))
+					throw new AssertionError("Wrong process "
+						+ slot.processId(index) + " in slot " + slot);
+			}
+
+			// Every unit of space is either free or held by one process
+			long used = slot.getEnd() - slot.getStart() - allocator.freeSpace(position);
+			if (used != claimed[position])
+				throw new AssertionError("Lost space in slot " + slot);
+		}
+	}
+
+	private static void awaitQuietly(CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
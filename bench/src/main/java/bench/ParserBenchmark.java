@@ -0,0 +1,115 @@
+package bench;
+
+// User defined libraries
+import src.parser.InvalidNumberException;
+import src.parser.MemorySlotParser;
+import src.parser.ProcessParser;
+
+// JMH libraries
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Java SDK libraries
+import java.io.BufferedWriter;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>The <code>ParserBenchmark</code> class measures the throughput of
+ * <code>MemorySlotParser</code> and <code>ProcessParser</code> on generated
+ * Minput.data and Pinput.data files.
+ *
+ * <p>The <code>bytes</code> counter is reported as bytes parsed per second;
+ * divide it by 1,000,000 for MB/s. Run with <code>-prof gc</code> to see the
+ * allocation rate of each parser.
+ *
+ * @author Richard I. Zhunio
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ParserBenchmark {
+	/** Number of entries in each generated file */
+	@Param({"1000", "100000", "10000000"})
+	public int entries;
+
+	/** Generated Minput.data file */
+	private Path memoryInput;
+
+	/** Generated Pinput.data file */
+	private Path processInput;
+
+	/**
+	 * Counts the bytes parsed.
+	 */
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.OPERATIONS)
+	public static class Bytes {
+		/** Bytes parsed */
+		public long bytes;
+	}
+
+	@Setup(Level.Trial)
+	public void write() throws IOException {
+		SplittableRandom random = new SplittableRandom(Workloads.SEED);
+
+		// Memory slots laid out one after the other
+		memoryInput = Files.createTempFile("Minput", ".data");
+		try (BufferedWriter writer = Files.newBufferedWriter(memoryInput)) {
+			writer.write(entries + "\n");
+			int address = 0;
+			for (int i = 0; i < entries; i++) {
+				int size = 1 + random.nextInt(1000);
+				writer.write(address + " " + (address + size) + "\n");
+				address += size + 1;
+			}
+		}
+
+		// Processes numbered from 1
+		processInput = Files.createTempFile("Pinput", ".data");
+		try (BufferedWriter writer = Files.newBufferedWriter(processInput)) {
+			writer.write(entries + "\n");
+			for (int i = 1; i <= entries; i++)
+				writer.write(i + " " + (1 + random.nextInt(1000)) + "\n");
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void delete() throws IOException {
+		Files.deleteIfExists(memoryInput);
+		Files.deleteIfExists(processInput);
+	}
+
+	@Benchmark
+	public Object memorySlotParser(Bytes counter)
+		throws FileNotFoundException, InvalidNumberException {
+		counter.bytes += memoryInput.toFile().length();
+		return new MemorySlotParser(memoryInput.toString()).parse();
+	}
+
+	@Benchmark
+	public Object processParser(Bytes counter)
+		throws FileNotFoundException, InvalidNumberException {
+		counter.bytes += processInput.toFile().length();
+		return new ProcessParser(processInput.toString()).parse();
+	}
+}
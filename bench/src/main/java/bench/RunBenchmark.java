@@ -0,0 +1,94 @@
+package bench;
+
+// User defined libraries
+import src.Mallocator;
+import src.memory.Distribution;
+import src.memory.MemoryAllocator;
+import src.memory.ResultSink;
+import src.memory.Workload;
+
+// JMH libraries
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+// Java SDK libraries
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>The <code>RunBenchmark</code> class measures the latency of a full
+ * {@link MemoryAllocator#run(ResultSink)} for each memory allocation method,
+ * over every combination of slot count, process count and size distribution.
+ *
+ * <p>A fresh allocator is created from an already generated workload before
+ * every invocation, so only allocating and reporting the results is measured.
+ *
+ * @author Richard I. Zhunio
+ * @see Workloads
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class RunBenchmark {
+	/** Memory allocation method to run */
+	@Param({"FF", "NF", "BF", "WF", "Buddy", "TLSF"})
+	public String algorithm;
+
+	/** Number of memory slots */
+	@Param({"1000", "100000", "10000000"})
+	public int slots;
+
+	/** Number of processes */
+	@Param({"1000", "100000", "10000000"})
+	public int processes;
+
+	/** Distribution of slot and process sizes */
+	@Param({"UNIFORM", "BIMODAL", "HEAVY_TAILED"})
+	public Distribution distribution;
+
+	/** Workload shared by every invocation */
+	private Workload workload;
+
+	/** Allocator with its own copy of the workload */
+	private MemoryAllocator allocator;
+
+	@Setup(Level.Trial)
+	public void generate() {
+		workload = Workloads.generate(slots, processes, distribution);
+	}
+
+	@Setup(Level.Invocation)
+	public void create() throws Exception {
+		allocator = Mallocator.generate(algorithm, workload);
+	}
+
+	@Benchmark
+	public void run(Blackhole blackhole) {
+		allocator.run(new ResultSink() {
+			@Override
+			public void allocated(int start, int end, int id) {
+				blackhole.consume(start);
+				blackhole.consume(end);
+				blackhole.consume(id);
+			}
+
+			@Override
+			public void unallocated(int id) {
+				blackhole.consume(id);
+			}
+		});
+	}
+}
@@ -0,0 +1,177 @@
+package bench;
+
+// User defined libraries
+import src.Server;
+
+// Java SDK libraries
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>The <code>ServiceLoad</code> class is a load generator for the
+ * allocation service of {@link Server}. Each connection runs on its own
+ * thread and sends allocations of new processes, each one followed by the
+ * free of the process allocated <code>window</code> requests earlier, so the
+ * memory slots never fill up. Requests are sent <code>pipeline</code> at a
+ * time before reading their replies. The processes still allocated at the
+ * end are freed, so the same server can take another run.
+ *
+ * <p>When it is done, it prints the requests per second, the share of
+ * allocations that fit, and the mean batch size reported by the server.
+ *
+ * <p>Usage: <code>ServiceLoad [port] [connections] [seconds] [pipeline] [window]</code>
+ *
+ * @author Richard I. Zhunio
+ * @see Server
+ */
+public class ServiceLoad {
+	public static void main(String[] args) throws Exception {
+		int port = args.length > 0 ? Integer.parseInt(args[0]) : Server.DEFAULT_PORT;
+		int connections = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+		int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+		int pipeline = args.length > 3 ? Integer.parseInt(args[3]) : 32;
+		int window = args.length > 4 ? Integer.parseInt(args[4]) : 1000;
+
+		// Counters shared by every connection
+		LongAdder requests = new LongAdder();
+		LongAdder allocated = new LongAdder();
+		LongAdder allocations = new LongAdder();
+		AtomicBoolean running = new AtomicBoolean(true);
+		CountDownLatch start = new CountDownLatch(1);
+
+		List<Thread> clients = new ArrayList<>();
+		for (int c = 0; c < connections; c++) {
+			int connection = c;
+			Thread client = new Thread(() -> {
+				try {
+					load(port, connection, connections, pipeline, window, start,
+						running, requests, allocations, allocated);
+				} catch (IOException e) {
+					throw new IllegalStateException("Connection " + connection + " failed", e);
+				}
+			});
+			clients.add(client);
+			client.start();
+		}
+
+		// Stats before the run, so only this run is counted
+		long[] before = stats(port);
+		long started = System.nanoTime();
+		start.countDown();
+		Thread.sleep(seconds * 1000L);
+		running.set(false);
+		for (Thread client : clients) client.join();
+		long elapsed = System.nanoTime() - started;
+		long[] after = stats(port);
+
+		long total = requests.sum();
+		long batches = after[1] - before[1] - 1;
+		System.out.printf("%d requests in %.1f s: %.0f requests/s%n", total,
+			elapsed / 1e9, total * 1e9 / elapsed);
+		System.out.printf("%.1f%% of %d allocations fit%n",
+			100.0 * allocated.sum() / Math.max(1, allocations.sum()), allocations.sum());
+		System.out.printf("%.1f requests per batch on the server%n",
+			(double) (after[0] - before[0] - 1) / Math.max(1, batches));
+	}
+
+	/**
+	 * Sends requests on one connection until the run is over.
+	 */
+	private static void load(int port, int connection, int connections,
+							 int pipeline, int window, CountDownLatch start,
+							 AtomicBoolean running, LongAdder requests,
+							 LongAdder allocations, LongAdder allocated)
+		throws IOException {
+		SplittableRandom random = new SplittableRandom(connection);
+
+		// Ids of this connection never clash with the ids of other connections
+		int ids = Integer.MAX_VALUE / connections;
+		long sequence = 0;
+
+		try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port);
+			 BufferedReader in = new BufferedReader(new InputStreamReader(
+				 socket.getInputStream(), StandardCharsets.US_ASCII));
+			 Writer out = new BufferedWriter(new OutputStreamWriter(
+				 socket.getOutputStream(), StandardCharsets.US_ASCII))) {
+			socket.setTcpNoDelay(true);
+			awaitQuietly(start);
+
+			while (running.get()) {
+				// Send a pipeline of requests, then read every reply
+				int sent = 0;
+				int sentAllocations = 0;
+				while (sent < pipeline) {
+					int id = connection + connections * (int) (sequence % ids);
+					out.write("A " + id + " " + (1 + random.nextInt(2 * Workloads.PROCESS_MEAN)) + "\n");
+					sent++;
+					sentAllocations++;
+
+					// Free the process allocated a window earlier
+					if (sequence >= window) {
+						int old = connection + connections * (int) ((sequence - window) % ids);
+						out.write("F " + old + "\n");
+						sent++;
+					}
+					sequence++;
+				}
+				out.flush();
+
+				int fit = 0;
+				for (int index = 0; index < sent; index++) {
+					String reply = in.readLine();
+					if (reply == null) throw new IOException("Server closed the connection");
+					if (reply.startsWith("ERR")) throw new IOException(reply);
+					if (reply.startsWith("OK ")) fit++;
+				}
+
+				requests.add(sent);
+				allocations.add(sentAllocations);
+				allocated.add(fit);
+			}
+
+			// Free the processes still allocated, so the next run can reuse the ids
+			for (long old = Math.max(0, sequence - window); old < sequence; old++)
+				out.write("F " + (connection + connections * (int) (old % ids)) + "\n");
+			out.flush();
+			for (long old = Math.max(0, sequence - window); old < sequence; old++)
+				in.readLine();
+		}
+	}
+
+	/**
+	 * Asks the server how many requests and batches it has applied.
+	 */
+	private static long[] stats(int port) throws IOException {
+		try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port);
+			 BufferedReader in = new BufferedReader(new InputStreamReader(
+				 socket.getInputStream(), StandardCharsets.US_ASCII));
+			 Writer out = new BufferedWriter(new OutputStreamWriter(
+				 socket.getOutputStream(), StandardCharsets.US_ASCII))) {
+			out.write("S\n");
+			out.flush();
+			String[] fields = in.readLine().split(" ");
+			return new long[]{Long.parseLong(fields[1]), Long.parseLong(fields[2])};
+		}
+	}
+
+	private static void awaitQuietly(CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
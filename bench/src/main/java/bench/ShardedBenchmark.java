@@ -0,0 +1,115 @@
+package bench;
+
+// User defined libraries
+import src.memory.ConcurrentAllocator;
+import src.memory.MemorySlot;
+import src.memory.ShardedAllocator;
+
+// JMH libraries
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Java SDK libraries
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>The <code>ShardedBenchmark</code> class measures the throughput of
+ * {@link ShardedAllocator#allocate} from many threads, each one freeing
+ * the process it allocated a window earlier. Run it with
+ * <code>-t 1</code>, <code>-t 2</code>, and so on, with as many shards as
+ * threads, to see how throughput grows with the number of cores; compare it
+ * with {@link ConcurrentBenchmark} at the same number of threads.
+ *
+ * <p>The memory slots are large enough that they do not fill up during an
+ * iteration, and they are created again before each iteration.
+ *
+ * @author Richard I. Zhunio
+ * @see ConcurrentStress
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ShardedBenchmark {
+	/** Number of memory slots */
+	@Param({"1000", "100000"})
+	public int slots;
+
+	/** Number of shards */
+	@Param({"1", "4", "16"})
+	public int shards;
+
+	/** Allocator shared by every thread */
+	private ShardedAllocator allocator;
+
+	/** Processes each thread holds before it frees the oldest one */
+	private static final int WINDOW = 1024;
+
+	/** Number of threads that have drawn sizes */
+	private static final AtomicInteger THREADS = new AtomicInteger();
+
+	/**
+	 * Sizes drawn and processes held by each thread.
+	 */
+	@State(Scope.Thread)
+	public static class Sizes {
+		/** Source of sizes for this thread */
+		final SplittableRandom random = new SplittableRandom();
+
+		/** First id of this thread, ids never clash with other threads */
+		final int firstId = THREADS.getAndIncrement() * WINDOW;
+
+		/** Placements of the last processes allocated, by id */
+		final long[] placements = new long[WINDOW];
+
+		/** Next entry of placements to reuse */
+		int next;
+
+		@Setup(Level.Iteration)
+		public void clear() {
+			// The memory slots are created again, so nothing is held
+			Arrays.fill(placements, ConcurrentAllocator.NO_SPACE);
+			next = 0;
+		}
+	}
+
+	@Setup(Level.Iteration)
+	public void create() {
+		// Share the whole int address space between the memory slots
+		int size = Integer.MAX_VALUE / slots;
+		List<MemorySlot> mList = new ArrayList<>(slots);
+		for (int position = 0; position < slots; position++)
+			mList.add(new MemorySlot(position * size, (position + 1) * size));
+		allocator = new ShardedAllocator(mList, shards);
+	}
+
+	@Benchmark
+	public long allocate(Sizes sizes) {
+		// Free the process allocated a window earlier, then reuse its id
+		int index = sizes.next;
+		sizes.next = (index + 1) % WINDOW;
+		if (sizes.placements[index] != ConcurrentAllocator.NO_SPACE)
+			allocator.free(sizes.firstId + index, sizes.placements[index]);
+
+		long placement = allocator.allocate(sizes.firstId + index, 1 + sizes.random.nextInt(4));
+		sizes.placements[index] = placement;
+		return placement;
+	}
+}
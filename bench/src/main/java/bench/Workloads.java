@@ -0,0 +1,64 @@
+package bench;
+
+// User defined libraries
+import src.memory.Distribution;
+import src.memory.MemorySlot;
+import src.memory.ProcessTable;
+import src.memory.Workload;
+
+// Java SDK libraries
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+
+/**
+ * The <code>Workloads</code> class generates reproducible random workloads
+ * for the benchmarks.
+ *
+ * @author Richard I. Zhunio
+ * @see Distribution
+ * @see Workload
+ */
+final class Workloads {
+	/** Mean size of a process */
+	static final int PROCESS_MEAN = 100;
+
+	/** Seed used for every workload, so runs are comparable */
+	static final long SEED = 42;
+
+	private Workloads() {
+	}
+
+	/**
+	 * Generates a workload whose memory slots can hold about as much as all
+	 * of its processes need.
+	 *
+	 * @param slots        the number of memory slots.
+	 * @param processes    the number of processes.
+	 * @param distribution the distribution of slot and process sizes.
+	 * @return the generated workload.
+	 */
+	static Workload generate(int slots, int processes, Distribution distribution) {
+		SplittableRandom random = new SplittableRandom(SEED);
+
+		// Slots share the total size of the processes, and must fit in an int
+		int slotMean = (int) Math.max(1,
+			Math.min((long) PROCESS_MEAN * processes / slots, Integer.MAX_VALUE / 4 / slots));
+		int slotLimit = Integer.MAX_VALUE / slots - 2;
+
+		// Lay out the memory slots with a small gap between them
+		ArrayList<MemorySlot> slotList = new ArrayList<>(slots);
+		int address = 0;
+		for (int i = 0; i < slots; i++) {
+			int size = Math.min(distribution.sample(random, slotMean), slotLimit);
+			slotList.add(new MemorySlot(address, address + size));
+			address += size + 1;
+		}
+
+		// Number the processes from 1
+		ProcessTable processTable = new ProcessTable(processes);
+		for (int i = 1; i <= processes; i++)
+			processTable.add(i, distribution.sample(random, PROCESS_MEAN));
+
+		return new Workload(slotList, processTable);
+	}
+}
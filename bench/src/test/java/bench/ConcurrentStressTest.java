@@ -0,0 +1,61 @@
+package bench;
+
+// User defined libraries
+import src.memory.ConcurrentAllocator;
+import src.memory.MemorySlot;
+import src.memory.ShardedAllocator;
+
+// JUnit libraries
+import org.junit.jupiter.api.Test;
+
+// Java SDK libraries
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * <p>The <code>ConcurrentStressTest</code> class runs a few rounds of
+ * {@link ConcurrentStress} on the {@link ConcurrentAllocator} and the
+ * {@link ShardedAllocator}, and checks the placements that free does not
+ * accept.
+ *
+ * @author Richard I. Zhunio
+ * @see ConcurrentStress
+ */
+class ConcurrentStressTest {
+	@Test
+	void concurrentAllocatorKeepsEveryProcess() throws InterruptedException {
+		assertTrue(ConcurrentStress.stress(8, 16, 5, 0).startsWith("OK: 5 rounds"));
+	}
+
+	@Test
+	void shardedAllocatorKeepsEveryProcess() throws InterruptedException {
+		assertTrue(ConcurrentStress.stress(8, 16, 5, 4).contains("OK: 5 rounds"));
+	}
+
+	@Test
+	void freeRejectsPlacementsOfNoSlot() {
+		ConcurrentAllocator allocator = new ConcurrentAllocator(
+			List.of(new MemorySlot(0, 10), new MemorySlot(20, 30)));
+		assertFalse(allocator.free(1, ConcurrentAllocator.NO_SPACE));
+		assertFalse(allocator.free(1, 2L << 32));
+
+		// A process too big for every slot is not placed
+		long placement = allocator.allocate(1, 11);
+		assertEquals(ConcurrentAllocator.NO_SPACE, placement);
+		assertFalse(allocator.free(1, placement));
+
+		placement = allocator.allocate(2, 10);
+		assertTrue(allocator.free(2, placement));
+		assertFalse(allocator.free(2, placement));
+	}
+
+	@Test
+	void shardedFreeRejectsNoSpace() {
+		ShardedAllocator allocator = new ShardedAllocator(
+			List.of(new MemorySlot(0, 10), new MemorySlot(20, 30)), 2);
+		assertFalse(allocator.free(1, ConcurrentAllocator.NO_SPACE));
+	}
+}
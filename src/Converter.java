@@ -0,0 +1,37 @@
+package src;
+
+// User libraries
+import src.parser.BinaryConverter;
+
+/**
+ * <p>The <code>Converter</code> class converts a pair of Minput.data and
+ * Pinput.data files into the binary format of {@link BinaryConverter}. The
+ * binary files can then be given to {@link Mallocator} in place of the text
+ * files.
+ *
+ * <p>The {@code #main} method receives the following arguments:
+ * <blockquote><pre>{@code
+ *		args[0] = File path to Minput.data
+ *		args[1] = File path to Pinput.data
+ *		args[2] = File path to the binary memory slots to write
+ *		args[3] = File path to the binary processes to write
+ * }</pre></blockquote>
+ *
+ * @author Richard I. Zhunio
+ * @see BinaryConverter
+ */
+public class Converter {
+	public static void main(String[] args) throws Exception {
+		//Check for min number of arguments
+		if (args.length < 4) {
+			System.err.println("Wrong number of cmd arguments.");
+			System.exit(1);
+		}
+
+		// Convert memory slots and processes
+		long slots = BinaryConverter.convertSlots(args[0], args[2]);
+		long processes = BinaryConverter.convertProcesses(args[1], args[3]);
+
+		System.out.println(slots + " memory slots, " + processes + " processes");
+	}
+}
@@ -0,0 +1,154 @@
+package src;
+
+// User libraries
+import src.memory.Distribution;
+import src.memory.ResultWriter;
+
+// Java SDK Libraries
+import java.io.File;
+import java.io.IOException;
+import java.util.SplittableRandom;
+
+/**
+ * <p>The <code>Generator</code> class writes synthetic Minput.data and
+ * Pinput.data files of any size, so that the parsers and memory allocation
+ * methods can be tried on large inputs.
+ *
+ * <p>The {@code #main} method receives the following arguments:
+ * <blockquote><pre>{@code
+ *		args[0] = File path to the Minput.data to write
+ *		args[1] = File path to the Pinput.data to write
+ *		args[2] = Number of memory slots
+ *		args[3] = Number of processes
+ *		args[n] = Options, such as --seed=7 or --process-dist=zipf
+ * }</pre></blockquote>
+ *
+ * <p>The options are:
+ * <blockquote><pre>{@code
+ *		--seed=N             seed of the random numbers, 42 by default
+ *		--slot-dist=D        distribution of the slot sizes, uniform by default
+ *		--slot-mean=N        mean slot size, 1000 by default
+ *		--gap-mean=N         mean gap between slots, 0 by default
+ *		--process-dist=D     distribution of the process sizes, uniform by default
+ *		--process-mean=N     mean process size, 100 by default
+ * }</pre></blockquote>
+ *
+ * <p>Memory slots are laid out one after the other from address 0, with a
+ * uniformly random gap in front of each one. Processes are numbered from 1.
+ * Each line is written through a {@link ResultWriter} as soon as it is drawn,
+ * so memory use does not depend on the number of lines. The same seed always
+ * writes the same files.
+ *
+ * @author Richard I. Zhunio
+ * @see Distribution
+ * @see ResultWriter
+ */
+public class Generator {
+	public static void main(String[] args) throws IOException {
+		//Check for min number of arguments
+		if (args.length < 4) {
+			System.err.println("Wrong number of cmd arguments.");
+			System.exit(1);
+		}
+
+		// Retrieve output files and counts
+		File mOutput = new File(args[0]);
+		File pOutput = new File(args[1]);
+		int slots = Integer.parseInt(args[2]);
+		int processes = Integer.parseInt(args[3]);
+
+		// Retrieve options, keeping the defaults for the ones not given
+		long seed = 42;
+		Distribution slotDist = Distribution.UNIFORM;
+		int slotMean = 1000;
+		int gapMean = 0;
+		Distribution processDist = Distribution.UNIFORM;
+		int processMean = 100;
+		for (int index = 4; index < args.length; index++) {
+			String[] option = args[index].split("=", 2);
+			String value = option.length > 1 ? option[1] : "";
+			switch (option[0]) {
+				case "--seed":
+					seed = Long.parseLong(value);
+					break;
+				case "--slot-dist":
+					slotDist = Distribution.of(value);
+					break;
+				case "--slot-mean":
+					slotMean = Integer.parseInt(value);
+					break;
+				case "--gap-mean":
+					gapMean = Integer.parseInt(value);
+					break;
+				case "--process-dist":
+					processDist = Distribution.of(value);
+					break;
+				case "--process-mean":
+					processMean = Integer.parseInt(value);
+					break;
+				default:
+					throw new IllegalArgumentException("Unknown option: " + args[index]);
+			}
+		}
+
+		// Memory slots and processes draw from their own random numbers
+		SplittableRandom random = new SplittableRandom(seed);
+		writeSlots(mOutput, slots, slotDist, slotMean, gapMean, random.split());
+		writeProcesses(pOutput, processes, processDist, processMean, random.split());
+	}
+
+	/**
+	 * Writes a Minput.data file.
+	 *
+	 * @param file   the file to write.
+	 * @param count  the number of memory slots.
+	 * @param dist   the distribution of the slot sizes.
+	 * @param mean   the mean slot size.
+	 * @param gap    the mean gap between memory slots.
+	 * @param random the random numbers to draw from.
+	 * @throws IOException if the file cannot be written.
+	 * @throws IllegalArgumentException if the memory slots do not fit in the
+	 *                                  range of an int.
+	 */
+	static void writeSlots(File file, int count, Distribution dist, int mean,
+						   int gap, SplittableRandom random) throws IOException {
+		try (ResultWriter writer = new ResultWriter(file)) {
+			writer.line(count);
+
+			long address = 0;
+			for (int slot = 0; slot < count; slot++) {
+				// Leave a gap, then take the size of the slot
+				if (gap > 0) address += random.nextInt(2 * gap + 1);
+				long end = address + dist.sample(random, mean);
+
+				// Error occurs if addresses no longer fit in an int
+				if (end > Integer.MAX_VALUE)
+					throw new IllegalArgumentException("Memory slots go past "
+						+ "address " + Integer.MAX_VALUE + " after " + slot
+						+ " slots, lower --slot-mean or --gap-mean");
+
+				writer.line((int) address, (int) end);
+				address = end;
+			}
+		}
+	}
+
+	/**
+	 * Writes a Pinput.data file.
+	 *
+	 * @param file   the file to write.
+	 * @param count  the number of processes.
+	 * @param dist   the distribution of the process sizes.
+	 * @param mean   the mean process size.
+	 * @param random the random numbers to draw from.
+	 * @throws IOException if the file cannot be written.
+	 */
+	static void writeProcesses(File file, int count, Distribution dist,
+							   int mean, SplittableRandom random) throws IOException {
+		try (ResultWriter writer = new ResultWriter(file)) {
+			writer.line(count);
+			for (int id = 1; id <= count; id++)
+				writer.line(id, dist.sample(random, mean));
+		}
+	}
+}
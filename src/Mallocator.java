@@ -2,14 +2,32 @@ package src;
 
 // User libraries
 import src.algorithm.BF;
+import src.algorithm.BFD;
+import src.algorithm.Buddy;
 import src.algorithm.FF;
+import src.algorithm.FFD;
+import src.algorithm.NF;
+import src.algorithm.TLSF;
 import src.algorithm.WF;
+import src.memory.AllocationMetrics;
 import src.memory.MemoryAllocator;
+import src.memory.ProcessTable;
+import src.memory.ResultWriter;
+import src.memory.TraceReplay;
+import src.memory.Workload;
+import src.parser.MemorySlotParser;
+import src.parser.ProcessStream;
 
 // Java SDK Libraries
 import java.io.File;
-import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * <p>The <code>Mallocator</code> class represents the entry point to the memory
@@ -19,15 +37,45 @@ import java.util.List;
  * <blockquote><pre>{@code
  *		args[0] = File path to Minput.data
  *		args[1] = File path to Pinput.data
- *		args[2] = First memory allocation method such as FF, BF, WF
+ *		args[2] = First memory allocation method such as FF, NF, BF, WF
  *		args[3] = Second memory allocation method
  *		args[n] = N memory allocation method.
  * }</pre></blockquote>
  *
+ * <p>If {@code --metrics} is given among the memory allocation methods, each
+ * method also writes a JSON summary of its {@link AllocationMetrics} to
+ * <code>[method]metrics.json</code>, next to its output file.
+ *
+ * <p>If {@code --trace} is given, args[1] is a trace file of timed
+ * allocations and frees instead of a Pinput.data file. Each method replays
+ * the trace with a {@link TraceReplay} and prints its throughput.
+ *
+ * <p>If {@code --compact} is given, processes that do not fit in any hole are
+ * allocated after moving other processes, when the total free space allows
+ * it. Each method writes the moves to <code>[method]moves.data</code> and
+ * prints how many bytes were copied.
+ *
+ * <p>If {@code --wait} is given, processes that cannot be allocated wait in a
+ * queue and are allocated, and written to the output file, as soon as a free
+ * makes room for them. This only matters together with {@code --trace}.
+ *
+ * <p>If {@code --stream} is given, the Pinput.data file is not parsed up
+ * front. Each method reads the processes one at a time and writes each
+ * result as soon as the process is allocated, so memory use does not grow
+ * with the number of processes. Unallocated processes are written as they
+ * arrive instead of at the end.
+ *
  * <p>The memory allocation project consists of implementing three memory
  * allocation methods: First Fit (FF), Best Fit(BF), and Worst Fit (WF). The
  * {@code #main} method accepts the following arguments as valid memory allocation
- * methods: FF, BF, and WF.
+ * methods: FF, BF, and WF. Next Fit (NF), a variation of First Fit, the
+ * binary buddy system (Buddy) and two-level segregated fit (TLSF) are also
+ * accepted, as well as the batch methods First Fit Decreasing (FFD) and Best
+ * Fit Decreasing (BFD), which sort the processes by decreasing size first.
+ *
+ * <p>The input files are parsed once into a {@link Workload}, and the memory
+ * allocation methods run in parallel, each one on its own copy of the
+ * workload and writing its own output file.
  * @author Richard I. Zhunio
  */
 public class Mallocator {
@@ -42,47 +90,183 @@ public class Mallocator {
 		String mInput = args[0];
 		String pInput = args[1];
 
-		// Will hold memory allocator algorithms
-		String[] mAlgorithms = new String[args.length - 2];
+		// Will hold memory allocator algorithms, each one is run once
+		Set<String> mAlgorithms = new LinkedHashSet<>();
 
 		// Represents memory allocator index from cmd arguments
 		int algorithmIndex = 2;
 
+		// True if the metrics of each algorithm are recorded
+		boolean metrics = false;
+
+		// True if the process input is a trace file
+		boolean trace = false;
+
+		// True if processes are moved to make room
+		boolean compact = false;
+
+		// True if unallocated processes wait for space
+		boolean wait = false;
+
+		// True if the processes are read one at a time
+		boolean stream = false;
+
 		// Retrieve memory allocator algorithms
 		while (algorithmIndex < args.length) {
-			mAlgorithms[algorithmIndex - 2] = args[algorithmIndex++];
+			String arg = args[algorithmIndex++];
+			if (arg.equals("--metrics")) metrics = true;
+			else if (arg.equals("--trace")) trace = true;
+			else if (arg.equals("--compact")) compact = true;
+			else if (arg.equals("--wait")) wait = true;
+			else if (arg.equals("--stream")) stream = true;
+			else mAlgorithms.add(arg);
 		}
 
-		// Perform the memory allocator algorithms
-		for (String mAlgorithm: mAlgorithms) {
-			// Create new Memory allocator algorithm
-			MemoryAllocator mAllocator =
-				Mallocator.generate(mAlgorithm, mInput, pInput);
+		// Flags alone do not name any memory allocator algorithm
+		if (mAlgorithms.isEmpty()) {
+			System.err.println("Wrong number of cmd arguments.");
+			System.exit(1);
+		}
 
-			// Run memory allocator algorithm
-			List<String> log = mAllocator.run();
+		boolean recordMetrics = metrics;
+		boolean compaction = compact;
+		boolean waitQueue = wait;
+		String traceInput = trace ? pInput : null;
+		String streamInput = stream && !trace ? pInput : null;
 
-			// Generate output file path
-			File outputFile = getOutputFile(mAlgorithm);
+		// Parse the input files once for every memory allocator algorithm,
+		// a trace or a stream of processes is read by each algorithm instead
+		Workload workload = trace || stream
+			? new Workload(new MemorySlotParser(mInput).parse(), new ProcessTable())
+			: new Workload(mInput, pInput);
 
-			// Save the log into a file
-			PrintWriter writer = new PrintWriter(outputFile);
-			log.forEach(writer::println);
-			writer.close();
+		// Perform the memory allocator algorithms in parallel
+		ExecutorService executor = Executors.newFixedThreadPool(Math.min(
+			mAlgorithms.size(), Runtime.getRuntime().availableProcessors()));
+		try {
+			List<Future<?>> runs = new ArrayList<>();
+			for (String mAlgorithm: mAlgorithms) {
+				runs.add(executor.submit(() -> {
+					perform(mAlgorithm, workload, traceInput, streamInput,
+						recordMetrics, compaction, waitQueue);
+					return null;
+				}));
+			}
+
+			// Wait for every algorithm, reporting the first failure
+			for (Future<?> run: runs) {
+				try {
+					run.get();
+				} catch (ExecutionException e) {
+					if (e.getCause() instanceof Error) throw (Error) e.getCause();
+					throw (Exception) e.getCause();
+				}
+			}
+		} finally {
+			executor.shutdownNow();
 		}
 
 	}
 
+	/**
+	 * Runs a memory allocator algorithm on its own copy of the workload and
+	 * saves the log into the output file of the algorithm.
+	 *
+	 * @param mAlgorithm  the memory allocator algorithm, such as FF, BF, WF.
+	 * @param workload    the parsed memory slots and processes.
+	 * @param traceInput  the filepath to a trace file to replay instead of
+	 *                    the processes, or null.
+	 * @param streamInput the filepath to a Pinput.data file to read one
+	 *                    process at a time, or null.
+	 * @param metrics     true to also save the metrics of the algorithm.
+	 * @param compact     true to move processes to make room, and save the
+	 *                    moves of the algorithm.
+	 * @param wait        true to let unallocated processes wait for space.
+	 * @throws Exception if the algorithm is not supported or the output file
+	 *                   cannot be written.
+	 */
+	private static void perform(String mAlgorithm, Workload workload,
+								String traceInput, String streamInput,
+								boolean metrics, boolean compact,
+								boolean wait) throws Exception {
+		// Create new Memory allocator algorithm
+		MemoryAllocator mAllocator = Mallocator.generate(mAlgorithm, workload);
+
+		// Record metrics only when asked, timing every allocation has a cost
+		AllocationMetrics allocationMetrics = metrics ? new AllocationMetrics() : null;
+		mAllocator.setMetrics(allocationMetrics);
+
+		// Generate output file path
+		File outputFile = getOutputFile(mAlgorithm, "output.data");
+
+		// Batch algorithms need every process up front
+		if (streamInput != null && !mAllocator.canStream()) {
+			System.err.println(mAlgorithm + ": streaming not supported");
+			return;
+		}
+
+		// Some algorithms cannot move their processes
+		if (compact && !mAllocator.canCompact()) {
+			System.err.println(mAlgorithm + ": compaction not supported");
+			compact = false;
+		}
+
+		// Run memory allocator algorithm, saving the log into a file
+		try (ResultWriter writer = new ResultWriter(outputFile);
+			 ResultWriter moves = compact
+				 ? new ResultWriter(getOutputFile(mAlgorithm, "moves.data")) : null) {
+			if (moves != null) mAllocator.setCompaction(moves);
+			if (wait) mAllocator.setWaitQueue(writer);
+
+			if (streamInput != null) {
+				// Read and allocate the processes one at a time
+				try (ProcessStream processes = new ProcessStream(streamInput)) {
+					mAllocator.run(processes, writer);
+				}
+			}
+			else if (traceInput == null) mAllocator.run(writer);
+			else {
+				// Replay the trace and report its throughput
+				TraceReplay replay = new TraceReplay(mAllocator);
+				replay.replay(traceInput, writer);
+				System.out.println(mAlgorithm + ": " + replay);
+				if (wait)
+					System.out.println(mAlgorithm + ": " + mAllocator.waiting()
+						+ " processes still waiting");
+			}
+		}
+
+		// Report the cost of compaction
+		if (compact)
+			System.out.println(mAlgorithm + ": compaction moved "
+				+ mAllocator.relocations() + " processes, "
+				+ mAllocator.bytesRelocated() + " bytes");
+
+		// Save the metrics next to the log
+		if (allocationMetrics != null)
+			allocationMetrics.write(getOutputFile(mAlgorithm, "metrics.json"), mAlgorithm);
+	}
+
 	public static MemoryAllocator generate(String memoryAlgorithm,
 										   String memoryInput, String processInput)
 		throws Exception {
 		switch (memoryAlgorithm) {
 			case "FF":
 				return new FF(memoryInput, processInput);
+			case "NF":
+				return new NF(memoryInput, processInput);
 			case "BF":
 				return new BF(memoryInput, processInput);
 			case "WF":
 				return new WF(memoryInput, processInput);
+			case "Buddy":
+				return new Buddy(memoryInput, processInput);
+			case "TLSF":
+				return new TLSF(memoryInput, processInput);
+			case "FFD":
+				return new FFD(memoryInput, processInput);
+			case "BFD":
+				return new BFD(memoryInput, processInput);
 			default:
 				throw new Exception("Not supported memory allocator "
 					+ "algorithm: " + memoryAlgorithm);
@@ -90,15 +274,42 @@ public class Mallocator {
 	}
 
 
+	public static MemoryAllocator generate(String memoryAlgorithm,
+										   Workload workload)
+		throws Exception {
+		switch (memoryAlgorithm) {
+			case "FF":
+				return new FF(workload);
+			case "NF":
+				return new NF(workload);
+			case "BF":
+				return new BF(workload);
+			case "WF":
+				return new WF(workload);
+			case "Buddy":
+				return new Buddy(workload);
+			case "TLSF":
+				return new TLSF(workload);
+			case "FFD":
+				return new FFD(workload);
+			case "BFD":
+				return new BFD(workload);
+			default:
+				throw new Exception("Not supported memory allocator "
+					+ "algorithm: " + memoryAlgorithm);
+		}
+	}
+
 	/**
 	 * Generates the output file from the input file. It assures to place the
 	 * output file in the same directory as the input file and also renames
-	 * the generated file to output.[ext]
+	 * the generated file to [file][suffix]
 	 *
-	 * @param file the input file
+	 * @param file   the input file
+	 * @param suffix the suffix of the output file, such as output.data
 	 * @return the generated output file
 	 */
-	private static File getOutputFile(String file) {
+	private static File getOutputFile(String file, String suffix) {
 		// Get parent directory
 		String parentDir = new File(file).getParent();
 
@@ -106,7 +317,7 @@ public class Mallocator {
 		parentDir = parentDir == null ? "" : parentDir + "/";
 
 		// Get output name
-		String output = file + "output.data";
+		String output = file + suffix;
 
 		return new File(parentDir + output);
 	}
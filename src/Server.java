@@ -0,0 +1,323 @@
+package src;
+
+// User libraries
+import src.memory.MemoryAllocator;
+import src.memory.ProcessTable;
+import src.memory.RequestBatcher;
+import src.memory.RequestBatcher.Request;
+import src.memory.Workload;
+import src.parser.MemorySlotParser;
+
+// Java SDK Libraries
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * <p>The <code>Server</code> class runs a memory allocation method as a
+ * long-running service on a local TCP port, so that other programs can
+ * allocate and free processes while it runs, instead of writing a
+ * Pinput.data file and running {@link Mallocator} on it.
+ *
+ * <p>The {@code #main} method receives the following arguments:
+ * <blockquote><pre>{@code
+ *		args[0] = File path to Minput.data
+ *		args[1] = Memory allocation method such as FF, NF, BF, WF
+ *		args[2] = Port, optional, defaults to 7070
+ * }</pre></blockquote>
+ *
+ * <p>Clients send one request per line and get one reply per line, in the
+ * same order. Clients may send many requests before reading the replies:
+ * <blockquote><pre>{@code
+ *		A id size   allocates a process     OK start end, or NO if it does not fit
+ *		F id        frees a process         OK, or NO if it is not allocated
+ *		Q address   finds the owner         OK id start end, or NO if it is free
+ *		S           counts the requests     OK requests batches
+ * }</pre></blockquote>
+ *
+ * <p>A request that cannot be parsed or applied is answered with
+ * <code>ERR</code> followed by the reason, and the connection stays open.
+ *
+ * <p>Each connection is served by its own thread. The thread reads every
+ * complete request line the client has already sent, up to
+ * {@link #MAX_GROUP}, and hands them to a {@link RequestBatcher}, which
+ * applies the requests of every connection in batches. A line that has only
+ * partly arrived waits for the next group, so the requests before it are
+ * answered without waiting for the rest of it. The server listens on the
+ * loopback address only.
+ *
+ * <p>When the JVM shuts down, for example on Ctrl-C, a shutdown hook stops
+ * accepting connections and closes the batcher, which gives back the
+ * requests it has not applied yet.
+ *
+ * @author Richard I. Zhunio
+ * @see RequestBatcher
+ * @see Mallocator
+ */
+public class Server {
+	/** Port used when none is given */
+	public static final int DEFAULT_PORT = 7070;
+
+	/** Most requests of a connection handed to the batcher at once */
+	public static final int MAX_GROUP = 256;
+
+	public static void main(String[] args) throws Exception {
+		//Check for min number of arguments
+		if (args.length < 2) {
+			System.err.println("Wrong number of cmd arguments.");
+			System.exit(1);
+		}
+
+		// Start with empty memory slots, processes only come from clients
+		Workload workload = new Workload(new MemorySlotParser(args[0]).parse(),
+			new ProcessTable());
+		MemoryAllocator allocator = Mallocator.generate(args[1], workload);
+		int port = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_PORT;
+
+		RequestBatcher batcher = new RequestBatcher(allocator);
+		try (ServerSocket server = new ServerSocket(port, 128,
+			InetAddress.getLoopbackAddress())) {
+			System.out.println(args[1] + ": listening on "
+				+ server.getLocalSocketAddress());
+
+			// Stop accepting and applying requests when the JVM shuts down
+			Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+				stop(server);
+				batcher.close();
+			}, "server-shutdown"));
+
+			// Serve each connection on its own thread, until the server stops
+			int connections = 0;
+			while (!server.isClosed()) {
+				Socket socket;
+				try {
+					socket = server.accept();
+				} catch (IOException e) {
+					if (server.isClosed()) break;
+					throw e;
+				}
+				Thread thread = new Thread(() -> serve(socket, batcher),
+					"connection-" + connections++);
+				thread.setDaemon(true);
+				thread.start();
+			}
+		} finally {
+			batcher.close();
+		}
+	}
+
+	/**
+	 * Closes the server socket, so that no more connections are accepted.
+	 *
+	 * @param server the server socket.
+	 */
+	private static void stop(ServerSocket server) {
+		try {
+			server.close();
+		} catch (IOException e) {
+			// Already closed
+		}
+	}
+
+	/**
+	 * Answers the requests of a connection until the client closes it.
+	 *
+	 * @param socket  the connection.
+	 * @param batcher applies the requests.
+	 */
+	private static void serve(Socket socket, RequestBatcher batcher) {
+		// Requests reused for every group of the connection
+		Request[] requests = new Request[MAX_GROUP];
+		for (int index = 0; index < requests.length; index++)
+			requests[index] = new Request();
+
+		try (socket;
+			 Writer out = new BufferedWriter(new OutputStreamWriter(
+				 socket.getOutputStream(), StandardCharsets.US_ASCII))) {
+			socket.setTcpNoDelay(true);
+			LineReader in = new LineReader(socket.getInputStream());
+
+			String line;
+			while ((line = in.readLine()) != null) {
+				// Take every complete line already sent, waiting only for the first
+				int count = 0;
+				do parse(line, requests[count++]);
+				while (count < MAX_GROUP && in.hasLine() && (line = in.readLine()) != null);
+
+				batcher.submit(requests, count);
+
+				for (int index = 0; index < count; index++)
+					reply(requests[index], batcher, out);
+				out.flush();
+			}
+		} catch (IOException | IllegalStateException e) {
+			// The client went away or the server is shutting down
+		}
+	}
+
+	/**
+	 * Parses a line into a request. A line that cannot be parsed leaves an
+	 * error in the request.
+	 *
+	 * @param line    the line sent by the client.
+	 * @param request the request to fill.
+	 */
+	private static void parse(String line, Request request) {
+		request.error = null;
+		String[] fields = line.trim().split(" +");
+		request.op = fields[0].length() == 1 ? fields[0].charAt(0) : '?';
+
+		// Number of fields each operation takes after the operation
+		int expected;
+		switch (request.op) {
+			case RequestBatcher.ALLOCATE: expected = 2; break;
+			case RequestBatcher.FREE:
+			case RequestBatcher.QUERY: expected = 1; break;
+			case RequestBatcher.STATS: expected = 0; break;
+			default:
+				request.error = "Not supported request: " + line;
+				return;
+		}
+		if (fields.length != expected + 1) {
+			request.error = "Wrong number of fields: " + line;
+			return;
+		}
+
+		try {
+			if (request.op == RequestBatcher.QUERY)
+				request.size = Integer.parseInt(fields[1]);
+			else if (expected > 0) request.id = Integer.parseInt(fields[1]);
+			if (expected > 1) request.size = Integer.parseInt(fields[2]);
+		} catch (NumberFormatException e) {
+			request.error = "Invalid number: " + line;
+			return;
+		}
+		if (request.op == RequestBatcher.ALLOCATE && request.size < 0)
+			request.error = "Invalid size: " + request.size;
+	}
+
+	/**
+	 * Writes the reply to an applied request.
+	 *
+	 * @param request the applied request.
+	 * @param batcher counts the requests applied.
+	 * @param out     the connection to the client.
+	 * @throws IOException if the reply cannot be written.
+	 */
+	private static void reply(Request request, RequestBatcher batcher, Writer out)
+		throws IOException {
+		if (request.error != null) out.write("ERR " + request.error);
+		else if (request.op == RequestBatcher.STATS)
+			out.write("OK " + batcher.requests() + " " + batcher.batches());
+		else if (!request.success) out.write("NO");
+		else if (request.op == RequestBatcher.ALLOCATE)
+			out.write("OK " + request.start + " " + request.end);
+		else if (request.op == RequestBatcher.QUERY)
+			out.write("OK " + request.owner + " " + request.start + " " + request.end);
+		else out.write("OK");
+		out.write('\n');
+	}
+
+	/**
+	 * Reads the lines of a connection, and tells whether a complete line has
+	 * already arrived, so that reading it does not block.
+	 */
+	private static final class LineReader {
+		/** Bytes sent by the client */
+		private final InputStream in;
+
+		/** Bytes read but not yet returned as lines */
+		private byte[] buffer = new byte[8192];
+
+		/** First byte of the buffer not yet returned */
+		private int start;
+
+		/** End of the bytes read into the buffer */
+		private int end;
+
+		/** Bytes from start up to here hold no line break */
+		private int scanned;
+
+		LineReader(InputStream in) {
+			this.in = in;
+		}
+
+		/**
+		 * Tells whether a complete line has arrived, reading only the bytes
+		 * that are available without blocking.
+		 *
+		 * @return true if {@link #readLine} returns without blocking.
+		 * @throws IOException if the bytes cannot be read.
+		 */
+		boolean hasLine() throws IOException {
+			if (lineEnd() >= 0) return true;
+			int available = in.available();
+			if (available <= 0) return false;
+			fill(available);
+			return lineEnd() >= 0;
+		}
+
+		/**
+		 * Reads the next line, waiting for it if it has not fully arrived.
+		 *
+		 * @return the line without its line break, or null once the client
+		 * closed the connection.
+		 * @throws IOException if the bytes cannot be read.
+		 */
+		String readLine() throws IOException {
+			int lineEnd;
+			while ((lineEnd = lineEnd()) < 0) {
+				// The last line may not end with a line break
+				if (fill(buffer.length) < 0) {
+					if (start == end) return null;
+					lineEnd = end;
+					break;
+				}
+			}
+
+			int next = Math.min(lineEnd + 1, end);
+			if (lineEnd > start && buffer[lineEnd - 1] == '\r') lineEnd--;
+			String line = new String(buffer, start, lineEnd - start, StandardCharsets.US_ASCII);
+			start = scanned = next;
+			return line;
+		}
+
+		/**
+		 * Finds the line break of the next line in the buffer.
+		 *
+		 * @return its position, or -1 if the next line has not fully arrived.
+		 */
+		private int lineEnd() {
+			for (scanned = Math.max(scanned, start); scanned < end; scanned++)
+				if (buffer[scanned] == '\n') return scanned;
+			return -1;
+		}
+
+		/**
+		 * Reads up to <code>count</code> more bytes, making room for them.
+		 *
+		 * @return the number of bytes read, or -1 at the end of the stream.
+		 */
+		private int fill(int count) throws IOException {
+			// Move the bytes not returned yet to the front, growing if needed
+			if (start > 0) {
+				System.arraycopy(buffer, start, buffer, 0, end - start);
+				end -= start;
+				scanned -= start;
+				start = 0;
+			}
+			if (end == buffer.length) buffer = Arrays.copyOf(buffer, 2 * buffer.length);
+
+			int read = in.read(buffer, end, Math.min(count, buffer.length - end));
+			if (read > 0) end += read;
+			return read;
+		}
+	}
+}
@@ -0,0 +1,253 @@
+package src;
+
+// User libraries
+import src.memory.AllocationMetrics;
+import src.memory.MemoryAllocator;
+import src.memory.ResultSink;
+import src.memory.Workload;
+
+// Java SDK Libraries
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * <p>The <code>Sweep</code> class runs many memory allocation methods over
+ * many workloads in a single JVM, and collects how each run went into a CSV
+ * file. It avoids paying JVM startup and JIT warm-up for every run, as
+ * launching {@link Mallocator} once per run would.
+ *
+ * <p>The {@code #main} method receives the following arguments:
+ * <blockquote><pre>{@code
+ *		args[0] = File path to the manifest
+ *		args[1] = File path to the CSV file to write
+ *		args[2] = Number of threads, optional, defaults to the number of cores
+ * }</pre></blockquote>
+ *
+ * <p>Each line of the manifest holds a pair of input files followed by the
+ * memory allocation methods to run on them. Paths are relative to the
+ * directory of the manifest. Empty lines and lines starting with # are
+ * skipped:
+ * <blockquote><pre>{@code
+ * 	# Minput       Pinput       methods
+ * 	Minput.data    Pinput.data  FF BF WF
+ * 	big/M.data     big/P.data   FF NF TLSF
+ * }</pre></blockquote>
+ *
+ * <p>Each pair of input files is parsed once into a {@link Workload}, and
+ * every run is a task of a <code>ForkJoinPool</code>. The CSV file has one
+ * row per run, in manifest order, with the placement rate, the fragmentation
+ * of the free space left behind, the mean search steps and p99 latency per
+ * allocation, and the wall time of the run. A run that fails is still
+ * written, with its error in the last column.
+ *
+ * @author Richard I. Zhunio
+ * @see Mallocator
+ * @see AllocationMetrics
+ */
+public class Sweep {
+	/** Header of the CSV file */
+	private static final String HEADER = "memoryInput,processInput,algorithm,"
+		+ "processes,allocated,placementRate,freeSpace,largestFree,"
+		+ "externalFragmentation,meanProbes,p99LatencyNanos,wallMillis,error";
+
+	public static void main(String[] args) throws Exception {
+		//Check for min number of arguments
+		if (args.length < 2) {
+			System.err.println("Wrong number of cmd arguments.");
+			System.exit(1);
+		}
+
+		// Read the manifest, one pair of input files per entry
+		File manifest = new File(args[0]);
+		List<Entry> entries = readManifest(manifest);
+
+		// Run every entry on the pool
+		ForkJoinPool pool = args.length > 2
+			? new ForkJoinPool(Integer.parseInt(args[2])) : new ForkJoinPool();
+		long started = System.nanoTime();
+		try {
+			pool.invoke(new RecursiveAction() {
+				@Override
+				protected void compute() {
+					ForkJoinTask.invokeAll(entries);
+				}
+			});
+		} finally {
+			pool.shutdown();
+		}
+
+		// Write every row in manifest order
+		int runs = 0;
+		try (PrintWriter writer = new PrintWriter(args[1])) {
+			writer.println(HEADER);
+			for (Entry entry : entries) {
+				for (String row : entry.rows) writer.println(row);
+				runs += entry.rows.length;
+			}
+		}
+
+		System.out.println(runs + " runs in "
+			+ (System.nanoTime() - started) / 1_000_000 + " ms");
+	}
+
+	/**
+	 * Reads the entries of a manifest.
+	 *
+	 * @param manifest the manifest file.
+	 * @return the entries of the manifest, in order.
+	 * @throws IOException if the manifest cannot be read.
+	 */
+	private static List<Entry> readManifest(File manifest) throws IOException {
+		File directory = manifest.getAbsoluteFile().getParentFile();
+		List<Entry> entries = new ArrayList<>();
+
+		for (String line : Files.readAllLines(manifest.toPath())) {
+			// Skip empty lines and comments
+			String trimmed = line.trim();
+			if (trimmed.isEmpty() || trimmed.startsWith("#")) continue;
+
+			// Error occurs if no memory allocation method is given
+			String[] fields = trimmed.split("\\s+");
+			if (fields.length < 3)
+				throw new IllegalArgumentException("Manifest line needs two "
+					+ "input files and a memory allocation method: " + line);
+
+			entries.add(new Entry(resolve(directory, fields[0]),
+				resolve(directory, fields[1]),
+				Arrays.copyOfRange(fields, 2, fields.length)));
+		}
+
+		return entries;
+	}
+
+	private static String resolve(File directory, String path) {
+		File file = new File(path);
+		return file.isAbsolute() ? path : new File(directory, path).getPath();
+	}
+
+	/**
+	 * Quotes a field of the CSV file if it holds a comma or a quote.
+	 */
+	private static String csv(String field) {
+		if (field.indexOf(',') < 0 && field.indexOf('"') < 0) return field;
+		return '"' + field.replace("\"", "\"\"") + '"';
+	}
+
+	/**
+	 * A pair of input files and the memory allocation methods to run on them.
+	 * The input files are parsed once, and then each memory allocation
+	 * method runs as its own task.
+	 */
+	private static final class Entry extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		/** Filepath to the Minput.data file */
+		private final String memoryInput;
+
+		/** Filepath to the Pinput.data file */
+		private final String processInput;
+
+		/** Memory allocation methods to run */
+		private final String[] algorithms;
+
+		/** One CSV row per memory allocation method */
+		private final String[] rows;
+
+		Entry(String memoryInput, String processInput, String[] algorithms) {
+			this.memoryInput = memoryInput;
+			this.processInput = processInput;
+			this.algorithms = algorithms;
+			this.rows = new String[algorithms.length];
+		}
+
+		@Override
+		protected void compute() {
+			// Parse the input files once for every memory allocation method
+			Workload workload;
+			try {
+				workload = new Workload(memoryInput, processInput);
+			} catch (Exception e) {
+				for (int run = 0; run < algorithms.length; run++)
+					rows[run] = row(algorithms[run], null, 0, 0, 0, e);
+				return;
+			}
+
+			// Run each memory allocation method as its own task
+			List<RecursiveAction> runs = new ArrayList<>();
+			for (int run = 0; run < algorithms.length; run++) {
+				int index = run;
+				runs.add(new RecursiveAction() {
+					@Override
+					protected void compute() {
+						rows[index] = perform(algorithms[index], workload);
+					}
+				});
+			}
+			ForkJoinTask.invokeAll(runs);
+		}
+
+		/**
+		 * Runs a memory allocation method and describes the run as a row.
+		 */
+		private String perform(String algorithm, Workload workload) {
+			try {
+				MemoryAllocator allocator = Mallocator.generate(algorithm, workload);
+				AllocationMetrics metrics = new AllocationMetrics();
+				allocator.setMetrics(metrics);
+
+				// Only the metrics are kept, results are dropped
+				long started = System.nanoTime();
+				allocator.run(new ResultSink() {
+					@Override
+					public void allocated(int start, int end, int id) {
+					}
+
+					@Override
+					public void unallocated(int id) {
+					}
+				});
+				long wallNanos = System.nanoTime() - started;
+
+				return row(algorithm, metrics, metrics.allocations(),
+					metrics.allocated(), wallNanos, null);
+			} catch (Exception e) {
+				return row(algorithm, null, 0, 0, 0, e);
+			}
+		}
+
+		/**
+		 * Formats a row of the CSV file, leaving the numbers empty if the
+		 * run failed.
+		 */
+		private String row(String algorithm, AllocationMetrics metrics,
+						   long processes, long allocated, long wallNanos,
+						   Exception error) {
+			StringBuilder row = new StringBuilder()
+				.append(csv(memoryInput)).append(',')
+				.append(csv(processInput)).append(',')
+				.append(csv(algorithm)).append(',');
+
+			if (metrics == null) row.append(",,,,,,,,,");
+			else row.append(processes).append(',')
+				.append(allocated).append(',')
+				.append(metrics.successRatio()).append(',')
+				.append(metrics.freeSpace()).append(',')
+				.append(metrics.largestFree()).append(',')
+				.append(metrics.externalFragmentation()).append(',')
+				.append(metrics.meanProbes()).append(',')
+				.append(metrics.latencyPercentile(0.99)).append(',')
+				.append(wallNanos / 1e6).append(',');
+
+			if (error != null) row.append(csv(String.valueOf(error.getMessage())));
+			return row.toString();
+		}
+	}
+}
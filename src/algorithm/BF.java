@@ -4,6 +4,7 @@ package src.algorithm;
 import src.memory.MemoryAllocator;
 import src.memory.MemorySlot;
 import src.memory.Process;
+import src.memory.Workload;
 import src.parser.InvalidNumberException;
 
 import java.io.FileNotFoundException;
@@ -14,7 +15,9 @@ import java.io.FileNotFoundException;
  * <p>The best-fit method allocates the smallest memory slot that is big enough
  * to the process that needs allocation. A search through the entire list is
  * necessary for un-ordered list. For an ordered list, other searches such as
- * binary search will improve the performance.
+ * binary search will improve the performance. This implementation keeps the
+ * memory slots ordered by space available in a {@link SlotSizeIndex}, so each
+ * search takes logarithmic time.
  *
  * <p>The best-fit allocation method produces the smallest leftover memory slot.
  *
@@ -26,6 +29,8 @@ import java.io.FileNotFoundException;
  * @see FileNotFoundException
  */
 public class BF extends MemoryAllocator {
+	/** Memory slots ordered by space available */
+	private final SlotSizeIndex index;
 
 	/**
 	 * Creates a new best-fit allocator method given the file paths to the
@@ -41,6 +46,16 @@ public class BF extends MemoryAllocator {
 	public BF(String memoryInput, String processInput)
 		throws FileNotFoundException, InvalidNumberException {
 		super(memoryInput, processInput);
+		index = new SlotSizeIndex(mList);
+	}
+
+	/**
+	 * Creates a new best-fit allocator method given an already parsed workload.
+	 * @param workload the memory slots and processes to allocate.
+	 */
+	public BF(Workload workload) {
+		super(workload);
+		index = new SlotSizeIndex(mList);
 	}
 
 	/**
@@ -57,35 +72,11 @@ public class BF extends MemoryAllocator {
 	 */
 	@Override
 	public MemorySlot allocateSlot(Process process) {
-		// Represents the algorithm slot that best fits the process
-		MemorySlot bestFit = null;
-
-		// Execute for each algorithm slot we find one that best fits
-		for (MemorySlot slot: mList) {
-
-			// if process fits in algorithm slot
-			if (process.size <= slot.spaceAvailable()) {
-
-				// Get the smallest algorithm slot
-				if (bestFit != null) bestFit = getSmallest(bestFit, slot);
-				else bestFit = slot;
-			}
-		}
+		// Find the smallest algorithm slot the process fits in
+		SlotSizeIndex.Hole bestFit = index.smallestFit(process.size);
+		probe(index.visits());
 
 		// Add process to the best fit algorithm slot
-		if (bestFit != null) bestFit.add(process);
-
-		return bestFit;
-	}
-
-	/**
-	 * Compares the two <code>MemorySlot</code>s provided as parameters and
-	 * returns the smallest <code>MemorySlot</code>.
-	 * @param bestFit a <code>MemorySlot}</code>.
-	 * @param slot a <code>MemorySlot}</code>.
-	 * @return the smallest <code>MemorySlot}</code>.
-	 */
-	private MemorySlot getSmallest(MemorySlot bestFit, MemorySlot slot) {
-		return slot.spaceAvailable() < bestFit.spaceAvailable()? slot: bestFit;
+		return bestFit == null ? null : index.add(bestFit, process);
 	}
 }
@@ -0,0 +1,232 @@
+package src.algorithm;
+
+// User defined libraries
+import src.memory.MemoryAllocator;
+import src.memory.MemorySlot;
+import src.memory.Process;
+import src.memory.Workload;
+import src.parser.InvalidNumberException;
+
+// Java SDK libraries
+import java.io.FileNotFoundException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+
+/**
+ * <p>The <code>Buddy</code> class implements the binary buddy memory
+ * allocation method.
+ *
+ * <p>Each memory slot is carved into blocks whose sizes are powers of two,
+ * largest first, and each of those blocks is the root of a buddy tree. A
+ * block of order <code>k</code> has size <code>2^k</code> and is split into
+ * two buddies of order <code>k - 1</code> when a smaller block is needed. A
+ * process is given the smallest free block whose size is a power of two at
+ * least as large as the process. When a process is freed, its block is merged
+ * with its buddy for as long as the buddy is free too.
+ *
+ * <p>The free blocks of each order are kept in one bitmap per buddy tree, and
+ * another bitmap per order marks the buddy trees that have a free block of
+ * that order. Both allocating and freeing take time proportional to the
+ * number of orders, at the cost of the space wasted by rounding each process
+ * up to a power of two. Among blocks of the same order, the first one in list
+ * order and then in address order is used.
+ *
+ * @author Richard I. Zhunio
+ * @see MemoryAllocator
+ * @see Process
+ * @see MemorySlot
+ * @see InvalidNumberException
+ * @see FileNotFoundException
+ */
+public class Buddy extends MemoryAllocator {
+	/** Number of orders, a block of the largest order has size 2^30 */
+	private static final int ORDERS = 31;
+
+	/**
+	 * A buddy tree, rooted at a block carved from a memory slot.
+	 */
+	private static final class Tree {
+		/** Memory slot this tree was carved from */
+		final MemorySlot slot;
+
+		/** Starting address of the root block */
+		final int base;
+
+		/** Order of the root block */
+		final int order;
+
+		/** Free blocks of each order, by index from the base address */
+		final BitSet[] free;
+
+		Tree(MemorySlot slot, int base, int order) {
+			this.slot = slot;
+			this.base = base;
+			this.order = order;
+			this.free = new BitSet[order + 1];
+			for (int k = 0; k <= order; k++) free[k] = new BitSet();
+		}
+	}
+
+	/** Buddy trees in list order, then in address order */
+	private final ArrayList<Tree> trees;
+
+	/** Trees that have a free block, by order */
+	private final BitSet[] treesWithFree;
+
+	/** Tree, block index and order of each allocated process, by id */
+	private final HashMap<Integer, int[]> blocks;
+
+	/**
+	 * Creates a new buddy allocator method given the file paths to the
+	 * Minput.data and Pinput.data files.
+	 * @param memoryInput the filepath to the Minput.data file.
+	 * @param processInput the filepath to the Pinput.data file.
+	 * @throws FileNotFoundException  if the <code>memoryInput</code> or
+	 *                                <code>processInput</code>does not contain a
+	 *                                valid filepath.
+	 * @throws InvalidNumberException if the Minput.data or Pinput.data
+	 *                                contain invalid numbers.
+	 */
+	public Buddy(String memoryInput, String processInput)
+		throws FileNotFoundException, InvalidNumberException {
+		super(memoryInput, processInput);
+		trees = new ArrayList<>();
+		treesWithFree = new BitSet[ORDERS];
+		blocks = new HashMap<>();
+		carve();
+	}
+
+	/**
+	 * Creates a new buddy allocator method given an already parsed workload.
+	 * @param workload the memory slots and processes to allocate.
+	 */
+	public Buddy(Workload workload) {
+		super(workload);
+		trees = new ArrayList<>();
+		treesWithFree = new BitSet[ORDERS];
+		blocks = new HashMap<>();
+		carve();
+	}
+
+	/**
+	 * Allocates a <code>Process</code> to a <code>MemorySlot</code> if the
+	 * <code>MemorySlot</code> has enough space available for the <code>Process</code>.
+	 * If the <code>MemorySlot</code> does not have enough space available for the
+	 * <code>Process</code>, the <code>MemorySlot</code> returned is null. Otherwise,
+	 * the returned value contains the <code>MemorySlot</code> that allocates the
+	 * <code>Process</code>.
+	 *
+	 * @param process the <code>Process</code> to allocate.
+	 * @return the <code>MemorySlot</code> that allocates the <code>Process</code>, otherwise
+	 * null is returned.
+	 */
+	@Override
+	public MemorySlot allocateSlot(Process process) {
+		// Round the process size up to a power of two
+		int order = process.size <= 1
+			? 0 : Integer.SIZE - Integer.numberOfLeadingZeros(process.size - 1);
+
+		// Find the smallest order with a free block
+		int found = order;
+		while (found < ORDERS && treesWithFree[found].isEmpty()) found++;
+		probe(Math.min(found, ORDERS - 1) - order + 1);
+		if (found >= ORDERS) return null;
+
+		// Take the first free block of that order
+		int treeIndex = treesWithFree[found].nextSetBit(0);
+		Tree tree = trees.get(treeIndex);
+		int index = tree.free[found].nextSetBit(0);
+		take(treeIndex, found, index);
+
+		// Split it, freeing the right buddy each time
+		while (found > order) {
+			found--;
+			index <<= 1;
+			give(treeIndex, found, index + 1);
+		}
+
+		// Add process at the start of the block
+		blocks.put(process.id, new int[]{treeIndex, index, order});
+		tree.slot.add(process, tree.base + (index << order));
+		return tree.slot;
+	}
+
+	/**
+	 * Processes cannot be moved by compaction, since each one must stay at
+	 * the start of its block.
+	 *
+	 * @return false.
+	 */
+	@Override
+	public boolean canCompact() {
+		return false;
+	}
+
+	/**
+	 * Frees the block of the process, merging it with its buddy for as long
+	 * as the buddy is free, and then frees the process from its memory slot.
+	 *
+	 * @param slot      the <code>MemorySlot</code> that allocates the process.
+	 * @param processId the id of the <code>Process</code> to free.
+	 * @return true if the <code>Process</code> has been freed.
+	 */
+	@Override
+	protected boolean freeSlot(MemorySlot slot, int processId) {
+		int[] block = blocks.remove(processId);
+		if (block == null) return false;
+
+		int treeIndex = block[0];
+		int index = block[1];
+		int order = block[2];
+		Tree tree = trees.get(treeIndex);
+
+		// Merge with the buddy while it is free
+		while (order < tree.order && tree.free[order].get(index ^ 1)) {
+			take(treeIndex, order, index ^ 1);
+			index >>= 1;
+			order++;
+		}
+		give(treeIndex, order, index);
+
+		return super.freeSlot(slot, processId);
+	}
+
+	/**
+	 * Carves each memory slot into buddy trees, largest block first.
+	 */
+	private void carve() {
+		for (int k = 0; k < ORDERS; k++) treesWithFree[k] = new BitSet();
+
+		for (MemorySlot slot : mList) {
+			int base = slot.getStart();
+			long remaining = (long) slot.getEnd() - slot.getStart();
+
+			// Carve the largest power of two that is left
+			while (remaining > 0) {
+				int order = Math.min(ORDERS - 1, 63 - Long.numberOfLeadingZeros(remaining));
+				trees.add(new Tree(slot, base, order));
+				give(trees.size() - 1, order, 0);
+				base += 1 << order;
+				remaining -= 1L << order;
+			}
+		}
+	}
+
+	/**
+	 * Marks a block as used.
+	 */
+	private void take(int treeIndex, int order, int index) {
+		BitSet free = trees.get(treeIndex).free[order];
+		free.clear(index);
+		if (free.isEmpty()) treesWithFree[order].clear(treeIndex);
+	}
+
+	/**
+	 * Marks a block as free.
+	 */
+	private void give(int treeIndex, int order, int index) {
+		trees.get(treeIndex).free[order].set(index);
+		treesWithFree[order].set(treeIndex);
+	}
+}
@@ -4,6 +4,7 @@ package src.algorithm;
 import src.memory.MemoryAllocator;
 import src.memory.MemorySlot;
 import src.memory.Process;
+import src.memory.Workload;
 import src.parser.InvalidNumberException;
 
 // Java SDK libraries
@@ -18,14 +19,21 @@ import java.io.FileNotFoundException;
  * first-fit search ended. The search stops until a memory slot is large enough
  * to allocate the process.
  *
+ * <p>This implementation starts at the beginning of the list, but instead of
+ * checking each memory slot it walks down a {@link SlotSpaceTree}, so each
+ * search takes logarithmic time.
+ *
  * @author Richard I. Zhunio
  * @see MemoryAllocator
+ * @see NF
  * @see Process
  * @see MemorySlot
  * @see InvalidNumberException
  * @see FileNotFoundException
  */
 public class FF extends MemoryAllocator {
+	/** Largest space available over ranges of memory slots in list order */
+	private final SlotSpaceTree tree;
 
 	/**
 	 * Creates a new first-fit allocator method given the file paths to the
@@ -40,6 +48,16 @@ public class FF extends MemoryAllocator {
 	 */
 	public FF(String memoryInput, String processInput) throws Exception {
 		super(memoryInput, processInput);
+		tree = new SlotSpaceTree(mList);
+	}
+
+	/**
+	 * Creates a new first-fit allocator method given an already parsed workload.
+	 * @param workload the memory slots and processes to allocate.
+	 */
+	public FF(Workload workload) {
+		super(workload);
+		tree = new SlotSpaceTree(mList);
 	}
 
 	/**
@@ -56,22 +74,12 @@ public class FF extends MemoryAllocator {
 	 */
 	@Override
 	public MemorySlot allocateSlot(Process process) {
-		// Represents the algorithm slot that has been allocated to the process
-		MemorySlot slot = null;
-
-		// Execute for each slot in algorithm list until we find one that fits
-		for (MemorySlot memorySlot: mList) {
-
-			// if process fits in algorithm slot, add it to the algorithm slot
-			if (process.size <= memorySlot.spaceAvailable()) {
-				memorySlot.add(process);
-				slot = memorySlot;
-
-				// Break out of the loop
-				break;
-			}
-		}
+		// Find the first algorithm slot the process fits in
+		int firstFit = tree.firstFit(process.size);
 
+		// Add process to the first fit algorithm slot
+		MemorySlot slot = firstFit < 0 ? null : tree.add(firstFit, process);
+		probe(tree.visits());
 		return slot;
 	}
 }
@@ -0,0 +1,76 @@
+package src.algorithm;
+
+// User defined libraries
+import src.memory.MemoryAllocator;
+import src.memory.Workload;
+import src.parser.InvalidNumberException;
+
+// Java SDK libraries
+import java.io.FileNotFoundException;
+
+/**
+ * <p>The <code>FFD</code> class implements the first-fit-decreasing memory
+ * allocation method.
+ *
+ * <p>The first-fit-decreasing method is the offline version of the first-fit
+ * method. Instead of allocating the processes in the order they are read,
+ * the whole list of processes is sorted by decreasing size first, and each
+ * process is then allocated with the first-fit method. Placing the largest
+ * processes first usually leaves far fewer processes unallocated. Sorting
+ * takes O(n log n) and each allocation uses the same index as {@link FF}.
+ *
+ * <p>Processes are logged in the order they are allocated, largest first.
+ * Processes that could not be allocated are logged in the order they are
+ * read.
+ *
+ * @author Richard I. Zhunio
+ * @see FF
+ * @see MemoryAllocator
+ * @see InvalidNumberException
+ * @see FileNotFoundException
+ */
+public class FFD extends FF {
+
+	/**
+	 * Creates a new first-fit-decreasing allocator method given the file paths to
+	 * the Minput.data and Pinput.data files.
+	 * @param memoryInput the filepath to the Minput.data file.
+	 * @param processInput the filepath to the Pinput.data file.
+	 * @throws FileNotFoundException  if the <code>memoryInput</code> or
+	 *                                <code>processInput</code>does not contain a
+	 *                                valid filepath.
+	 * @throws InvalidNumberException if the Minput.data or Pinput.data
+	 *                                contain invalid numbers.
+	 */
+	public FFD(String memoryInput, String processInput) throws Exception {
+		super(memoryInput, processInput);
+	}
+
+	/**
+	 * Creates a new first-fit-decreasing allocator method given an already parsed
+	 * workload.
+	 * @param workload the memory slots and processes to allocate.
+	 */
+	public FFD(Workload workload) {
+		super(workload);
+	}
+
+	/**
+	 * Allocates the processes by decreasing size.
+	 * @return the indexes of the processes, largest process first.
+	 */
+	@Override
+	protected int[] processOrder() {
+		return pList.decreasingSizeOrder();
+	}
+
+	/**
+	 * Processes cannot be allocated as they arrive, since every process must
+	 * be known to sort them.
+	 * @return false.
+	 */
+	@Override
+	public boolean canStream() {
+		return false;
+	}
+}
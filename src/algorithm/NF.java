@@ -0,0 +1,100 @@
+package src.algorithm;
+
+// User defined libraries
+import src.memory.MemoryAllocator;
+import src.memory.MemorySlot;
+import src.memory.Process;
+import src.memory.Workload;
+import src.parser.InvalidNumberException;
+
+// Java SDK libraries
+import java.io.FileNotFoundException;
+
+/**
+ * <p>The <code>NF</code> class implements the next-fit memory allocation method.
+ *
+ * <p>The next-fit method is a variation of the first-fit method. Instead of
+ * starting every search at the beginning of the list of memory slots, the
+ * search starts at the memory slot where the previous search ended. If no
+ * memory slot is large enough before the end of the list, the search wraps
+ * around to the beginning of the list.
+ *
+ * <p>Memory slots at the beginning of the list tend to fill early, so starting
+ * at the previous location avoids searching them again. Like {@link FF}, this
+ * implementation walks down a {@link SlotSpaceTree} instead of checking each
+ * memory slot.
+ *
+ * @author Richard I. Zhunio
+ * @see MemoryAllocator
+ * @see FF
+ * @see Process
+ * @see MemorySlot
+ * @see InvalidNumberException
+ * @see FileNotFoundException
+ */
+public class NF extends MemoryAllocator {
+	/** Largest space available over ranges of memory slots in list order */
+	private final SlotSpaceTree tree;
+
+	/** Position of the memory slot where the previous search ended */
+	private int cursor;
+
+	/**
+	 * Creates a new next-fit allocator method given the file paths to the
+	 * Minput.data and Pinput.data files.
+	 * @param memoryInput the filepath to the Minput.data file.
+	 * @param processInput the filepath to the Pinput.data file.
+	 * @throws FileNotFoundException  if the <code>memoryInput</code> or
+	 *                                <code>processInput</code>does not contain a
+	 *                                valid filepath.
+	 * @throws InvalidNumberException if the Minput.data or Pinput.data
+	 *                                contain invalid numbers.
+	 */
+	public NF(String memoryInput, String processInput)
+		throws FileNotFoundException, InvalidNumberException {
+		super(memoryInput, processInput);
+		tree = new SlotSpaceTree(mList);
+	}
+
+	/**
+	 * Creates a new next-fit allocator method given an already parsed workload.
+	 * @param workload the memory slots and processes to allocate.
+	 */
+	public NF(Workload workload) {
+		super(workload);
+		tree = new SlotSpaceTree(mList);
+	}
+
+	/**
+	 * Allocates a <code>Process</code> to a <code>MemorySlot</code> if the
+	 * <code>MemorySlot</code> has enough space available for the <code>Process</code>.
+	 * If the <code>MemorySlot</code> does not have enough space available for the
+	 * <code>Process</code>, the <code>MemorySlot</code> returned is null. Otherwise,
+	 * the returned value contains the <code>MemorySlot</code> that allocates the
+	 * <code>Process</code>.
+	 *
+	 * @param process the <code>Process</code> to allocate.
+	 * @return the <code>MemorySlot</code> that allocates the <code>Process</code>, otherwise
+	 * null is returned.
+	 */
+	@Override
+	public MemorySlot allocateSlot(Process process) {
+		// Search from the previous location to the end of the list
+		int nextFit = tree.firstFit(process.size, cursor);
+
+		// Wrap around to the beginning of the list
+		if (nextFit < 0) nextFit = tree.firstFit(process.size);
+
+		// No algorithm slot fits the process
+		if (nextFit < 0) {
+			probe(tree.visits());
+			return null;
+		}
+
+		// Next search starts where this one ended
+		cursor = nextFit;
+		MemorySlot slot = tree.add(nextFit, process);
+		probe(tree.visits());
+		return slot;
+	}
+}
@@ -0,0 +1,191 @@
+package src.algorithm;
+
+// User defined libraries
+import src.memory.HoleListener;
+import src.memory.MemorySlot;
+import src.memory.Process;
+
+// Java SDK libraries
+import java.util.BitSet;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * <p>The <code>SlotSizeIndex</code> class keeps the holes of every memory slot
+ * ordered by size, so that the best-fit and worst-fit methods can find a hole
+ * in logarithmic time instead of searching the entire list of memory slots.
+ *
+ * <p>Holes of the same size are ordered by the position of their memory slot
+ * in the list of memory slots, and then by address, which is the same
+ * tie-breaking rule used by a linear search. Until a process is freed, each
+ * memory slot has at most one hole, the space after its last process. Memory
+ * slots without holes are also tracked, since a process without a size still
+ * fits in them.
+ *
+ * <p>The index listens to the holes of each memory slot, so it stays up to
+ * date however a memory slot changes. Every hole compared by a search is
+ * counted, which is the number of tree nodes the search visits.
+ *
+ * @author Richard I. Zhunio
+ * @see BF
+ * @see WF
+ * @see MemorySlot
+ * @see HoleListener
+ */
+class SlotSizeIndex {
+	/**
+	 * A hole of a memory slot, ordered by size, then by the position of the
+	 * memory slot, then by starting address.
+	 */
+	static final class Hole implements Comparable<Hole> {
+		/** Size of this hole */
+		final int size;
+
+		/** Position of the memory slot holding this hole */
+		final int position;
+
+		/** Starting address of this hole */
+		final int start;
+
+		Hole(int size, int position, int start) {
+			this.size = size;
+			this.position = position;
+			this.start = start;
+		}
+
+		@Override
+		public int compareTo(Hole other) {
+			if (size != other.size) return Integer.compare(size, other.size);
+			if (position != other.position)
+				return Integer.compare(position, other.position);
+			return Integer.compare(start, other.start);
+		}
+	}
+
+	/** Memory slots by their position in the list of memory slots */
+	private final MemorySlot[] slots;
+
+	/** Holes ordered by size, position and address */
+	private final TreeSet<Hole> holes;
+
+	/** Number of holes in each memory slot */
+	private final int[] holeCounts;
+
+	/** Positions of the memory slots that have no holes */
+	private final BitSet fullSlots;
+
+	/** Holes compared by the tree, by searches and updates alike */
+	private long compares;
+
+	/** Nodes visited by the searches since the last call to {@link #visits} */
+	private long visits;
+
+	/**
+	 * Creates a new <code>SlotSizeIndex</code> over the given memory slots.
+	 *
+	 * @param mList the list of memory slots to index.
+	 */
+	SlotSizeIndex(List<MemorySlot> mList) {
+		slots = mList.toArray(new MemorySlot[0]);
+		holes = new TreeSet<>((hole, other) -> {
+			compares++;
+			return hole.compareTo(other);
+		});
+		holeCounts = new int[slots.length];
+		fullSlots = new BitSet(slots.length);
+		fullSlots.set(0, slots.length);
+
+		// Index each memory slot by its current holes, and keep it up to date
+		for (int position = 0; position < slots.length; position++) {
+			int slot = position;
+			slots[position].setHoleListener(new HoleListener() {
+				@Override
+				public void holeAdded(int start, int end) {
+					holes.add(new Hole(end - start, slot, start));
+					if (holeCounts[slot]++ == 0) fullSlots.clear(slot);
+				}
+
+				@Override
+				public void holeRemoved(int start, int end) {
+					holes.remove(new Hole(end - start, slot, start));
+					if (--holeCounts[slot] == 0) fullSlots.set(slot);
+				}
+			});
+		}
+	}
+
+	/**
+	 * Finds the smallest hole that is big enough for the given size.
+	 *
+	 * @param size the size that must fit in the hole.
+	 * @return the hole, or null if no hole fits.
+	 */
+	Hole smallestFit(int size) {
+		// Processes without a size fit best in a memory slot that is full
+		visits++;
+		int full = size <= 0 ? fullSlots.nextSetBit(0) : -1;
+		if (full >= 0) return new Hole(0, full, slots[full].endMarker);
+
+		return ceiling(new Hole(size, Integer.MIN_VALUE, Integer.MIN_VALUE));
+	}
+
+	/**
+	 * Finds the largest hole if it is big enough for the given size. If
+	 * several holes have the largest size, the first one in list order is
+	 * returned.
+	 *
+	 * @param size the size that must fit in the hole.
+	 * @return the hole, or null if no hole fits.
+	 */
+	Hole largestFit(int size) {
+		// Only processes without a size fit if there are no holes
+		visits++;
+		if (holes.isEmpty())
+			return size <= 0 && slots.length > 0
+				? new Hole(0, 0, slots[0].endMarker) : null;
+
+		// Find the largest hole size
+		int largest = holes.last().size;
+		if (size > largest) return null;
+
+		// Find the first hole with the largest size
+		return ceiling(new Hole(largest, Integer.MIN_VALUE, Integer.MIN_VALUE));
+	}
+
+	/**
+	 * Retrieves the number of nodes visited by the searches since the last
+	 * call to this method.
+	 *
+	 * @return the number of nodes visited.
+	 */
+	long visits() {
+		long count = visits;
+		visits = 0;
+		return count;
+	}
+
+	/**
+	 * Finds the smallest hole at or after the given one, counting the holes
+	 * compared on the way down the tree.
+	 */
+	private Hole ceiling(Hole hole) {
+		long before = compares;
+		Hole ceiling = holes.ceiling(hole);
+		visits += compares - before;
+		return ceiling;
+	}
+
+	/**
+	 * Adds the process at the start of the given hole. The index is updated
+	 * by the hole listener of the memory slot.
+	 *
+	 * @param hole    the hole to add the process to.
+	 * @param process the process to add to the memory slot.
+	 * @return the <code>MemorySlot</code> that allocates the process.
+	 */
+	MemorySlot add(Hole hole, Process process) {
+		MemorySlot slot = slots[hole.position];
+		slot.add(process, hole.start);
+		return slot;
+	}
+}
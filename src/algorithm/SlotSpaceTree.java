@@ -0,0 +1,179 @@
+package src.algorithm;
+
+// User defined libraries
+import src.memory.HoleListener;
+import src.memory.MemorySlot;
+import src.memory.Process;
+
+// Java SDK libraries
+import java.util.List;
+
+/**
+ * <p>The <code>SlotSpaceTree</code> class is a segment tree over the space
+ * available of each memory slot, kept in list order. Every node holds the
+ * largest space available below it, so the first memory slot that is big
+ * enough for a process is found by walking down from the root, always taking
+ * the left child when it is big enough.
+ *
+ * <p>Both the search and the update after adding a process take logarithmic
+ * time, which lets the first-fit method skip every full memory slot at the
+ * beginning of the list instead of checking them one by one. The tree listens
+ * to the holes of each memory slot, so it also stays up to date when a
+ * process is freed.
+ *
+ * @author Richard I. Zhunio
+ * @see FF
+ * @see NF
+ * @see MemorySlot
+ */
+class SlotSpaceTree {
+	/** Memory slots by their position in the list of memory slots */
+	private final MemorySlot[] slots;
+
+	/** Number of leaves, the smallest power of two that holds every slot */
+	private final int leaves;
+
+	/** Largest space available below each node, the root is at index 1 */
+	private final int[] tree;
+
+	/**
+	 * Nodes visited by the searches since the last call to {@link #visits},
+	 * including the holes visited inside the memory slot a process is added to
+	 */
+	private long visits;
+
+	/**
+	 * Creates a new <code>SlotSpaceTree</code> over the given memory slots.
+	 *
+	 * @param mList the list of memory slots to index.
+	 */
+	SlotSpaceTree(List<MemorySlot> mList) {
+		slots = mList.toArray(new MemorySlot[0]);
+
+		// Round the number of leaves up to a power of two
+		int size = 1;
+		while (size < slots.length) size <<= 1;
+		leaves = size;
+		tree = new int[2 * leaves];
+
+		// Fill the leaves, unused leaves never fit anything
+		for (int position = 0; position < leaves; position++)
+			tree[leaves + position] = position < slots.length
+				? slots[position].spaceAvailable() : Integer.MIN_VALUE;
+
+		// Fill the inner nodes from the bottom up
+		for (int node = leaves - 1; node > 0; node--)
+			tree[node] = Math.max(tree[2 * node], tree[2 * node + 1]);
+
+		// Update a leaf whenever a hole of its memory slot changes
+		for (int position = 0; position < slots.length; position++) {
+			int leaf = position;
+			slots[position].setHoleListener(new HoleListener() {
+				@Override
+				public void holeAdded(int start, int end) {
+					update(leaf);
+				}
+
+				@Override
+				public void holeRemoved(int start, int end) {
+					update(leaf);
+				}
+			});
+		}
+	}
+
+	/**
+	 * Finds the first memory slot in list order that is big enough for the
+	 * given size.
+	 *
+	 * @param size the size that must fit in the memory slot.
+	 * @return the position of the memory slot, or -1 if no memory slot fits.
+	 */
+	int firstFit(int size) {
+		// Nothing fits if no memory slot is big enough
+		visits++;
+		if (slots.length == 0 || tree[1] < size) return -1;
+
+		// Walk down, preferring the left child whenever it fits
+		int node = 1;
+		while (node < leaves) {
+			node = tree[2 * node] >= size ? 2 * node : 2 * node + 1;
+			visits++;
+		}
+
+		return node - leaves;
+	}
+
+	/**
+	 * Finds the first memory slot in list order, at or after the given
+	 * position, that is big enough for the given size.
+	 *
+	 * @param size the size that must fit in the memory slot.
+	 * @param from the position where the search starts.
+	 * @return the position of the memory slot, or -1 if no memory slot fits.
+	 */
+	int firstFit(int size, int from) {
+		return slots.length == 0 ? -1 : firstFit(1, 0, leaves, from, size);
+	}
+
+	/**
+	 * Finds the first memory slot below <code>node</code>, at or after
+	 * <code>from</code>, that is big enough for the given size.
+	 */
+	private int firstFit(int node, int low, int high, int from, int size) {
+		visits++;
+
+		// Skip ranges before the start and ranges where nothing fits
+		if (high <= from || tree[node] < size) return -1;
+
+		// A leaf that fits is the answer
+		if (node >= leaves) return low;
+
+		// Prefer the left half, fall back to the right half
+		int middle = (low + high) >>> 1;
+		int fit = firstFit(2 * node, low, middle, from, size);
+		return fit >= 0 ? fit : firstFit(2 * node + 1, middle, high, from, size);
+	}
+
+	/**
+	 * Retrieves the number of nodes visited by the searches since the last
+	 * call to this method.
+	 *
+	 * @return the number of nodes visited.
+	 */
+	long visits() {
+		long count = visits;
+		visits = 0;
+		return count;
+	}
+
+	/**
+	 * Adds the process to the first hole that fits in the memory slot at the
+	 * given position. The tree is updated by the hole listener of the slot.
+	 *
+	 * @param position the position of the memory slot.
+	 * @param process  the process to add to the memory slot.
+	 * @return the <code>MemorySlot</code> that allocates the process.
+	 */
+	MemorySlot add(int position, Process process) {
+		MemorySlot slot = slots[position];
+		slot.add(process);
+
+		// Count the holes visited inside the memory slot too
+		visits += slot.visits();
+		return slot;
+	}
+
+	/**
+	 * Updates the memory slot at the given position and the nodes above it.
+	 *
+	 * @param position the position of the memory slot.
+	 */
+	private void update(int position) {
+		// Propagate the new space available up to the root
+		int node = leaves + position;
+		tree[node] = slots[position].spaceAvailable();
+		for (node >>= 1; node > 0; node >>= 1)
+			tree[node] = Math.max(tree[2 * node], tree[2 * node + 1]);
+	}
+}
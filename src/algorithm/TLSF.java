@@ -0,0 +1,258 @@
+package src.algorithm;
+
+// User defined libraries
+import src.memory.HoleListener;
+import src.memory.MemoryAllocator;
+import src.memory.MemorySlot;
+import src.memory.Process;
+import src.memory.Workload;
+import src.parser.InvalidNumberException;
+
+// Java SDK libraries
+import java.io.FileNotFoundException;
+import java.util.HashMap;
+
+/**
+ * <p>The <code>TLSF</code> class implements the two-level segregated fit
+ * memory allocation method.
+ *
+ * <p>The holes of every memory slot are kept in free lists, one per size
+ * class. The first level splits sizes by powers of two, and the second level
+ * splits each power of two into {@value #SECOND_LEVELS} equal ranges. Sizes
+ * below {@value #SECOND_LEVELS} have a class of their own. One bitmap marks
+ * the first levels that have a hole, and one bitmap per first level marks its
+ * second levels that have a hole.
+ *
+ * <p>To allocate a process, its size is rounded up to the start of the next
+ * size class, so that every hole in the class found is big enough. The class
+ * is found with a few bit operations on the bitmaps, and the process is added
+ * at the start of the first hole in its free list. The search takes the same
+ * time whatever the number of memory slots or holes, and gives results close
+ * to the best-fit method.
+ *
+ * @author Richard I. Zhunio
+ * @see MemoryAllocator
+ * @see BF
+ * @see Process
+ * @see MemorySlot
+ * @see InvalidNumberException
+ * @see FileNotFoundException
+ */
+public class TLSF extends MemoryAllocator {
+	/** Bits used for the second level */
+	private static final int SECOND_LEVEL_BITS = 4;
+
+	/** Number of second levels in each first level */
+	private static final int SECOND_LEVELS = 1 << SECOND_LEVEL_BITS;
+
+	/** Number of first levels, enough for any positive int */
+	private static final int FIRST_LEVELS = Integer.SIZE - SECOND_LEVEL_BITS;
+
+	/**
+	 * A hole in a free list.
+	 */
+	private static final class Hole {
+		/** Memory slot holding this hole */
+		final MemorySlot slot;
+
+		/** Starting address of this hole */
+		final int start;
+
+		/** Size class of this hole */
+		final int sizeClass;
+
+		/** Neighbours in the free list */
+		Hole previous, next;
+
+		Hole(MemorySlot slot, int start, int sizeClass) {
+			this.slot = slot;
+			this.start = start;
+			this.sizeClass = sizeClass;
+		}
+	}
+
+	/** First hole of each free list, by size class */
+	private final Hole[] freeLists;
+
+	/** First levels that have a hole */
+	private int firstLevelMap;
+
+	/** Second levels that have a hole, by first level */
+	private final int[] secondLevelMaps;
+
+	/** Holes by position of their memory slot and starting address */
+	private final HashMap<Long, Hole> holes;
+
+	/**
+	 * Creates a new two-level segregated fit allocator method given the file
+	 * paths to the Minput.data and Pinput.data files.
+	 * @param memoryInput the filepath to the Minput.data file.
+	 * @param processInput the filepath to the Pinput.data file.
+	 * @throws FileNotFoundException  if the <code>memoryInput</code> or
+	 *                                <code>processInput</code>does not contain a
+	 *                                valid filepath.
+	 * @throws InvalidNumberException if the Minput.data or Pinput.data
+	 *                                contain invalid numbers.
+	 */
+	public TLSF(String memoryInput, String processInput)
+		throws FileNotFoundException, InvalidNumberException {
+		super(memoryInput, processInput);
+		freeLists = new Hole[FIRST_LEVELS * SECOND_LEVELS];
+		secondLevelMaps = new int[FIRST_LEVELS];
+		holes = new HashMap<>();
+		listen();
+	}
+
+	/**
+	 * Creates a new two-level segregated fit allocator method given an already
+	 * parsed workload.
+	 * @param workload the memory slots and processes to allocate.
+	 */
+	public TLSF(Workload workload) {
+		super(workload);
+		freeLists = new Hole[FIRST_LEVELS * SECOND_LEVELS];
+		secondLevelMaps = new int[FIRST_LEVELS];
+		holes = new HashMap<>();
+		listen();
+	}
+
+	/**
+	 * Allocates a <code>Process</code> to a <code>MemorySlot</code> if the
+	 * <code>MemorySlot</code> has enough space available for the <code>Process</code>.
+	 * If the <code>MemorySlot</code> does not have enough space available for the
+	 * <code>Process</code>, the <code>MemorySlot</code> returned is null. Otherwise,
+	 * the returned value contains the <code>MemorySlot</code> that allocates the
+	 * <code>Process</code>.
+	 *
+	 * @param process the <code>Process</code> to allocate.
+	 * @return the <code>MemorySlot</code> that allocates the <code>Process</code>, otherwise
+	 * null is returned.
+	 */
+	@Override
+	public MemorySlot allocateSlot(Process process) {
+		// Round up to the next size class, every hole in it is big enough
+		long size = Math.max(process.size, 1);
+		if (size >= SECOND_LEVELS)
+			size += (1L << (highestBit(size) - SECOND_LEVEL_BITS)) - 1;
+		if (size > Integer.MAX_VALUE) return null;
+
+		// Look for a hole in that size class or a bigger one
+		int sizeClass = sizeClass((int) size);
+		int firstLevel = sizeClass >>> SECOND_LEVEL_BITS;
+		int secondLevels = secondLevelMaps[firstLevel]
+			& (-1 << (sizeClass & (SECOND_LEVELS - 1)));
+		probe(1);
+
+		// Move on to the next first level that has a hole
+		if (secondLevels == 0) {
+			int firstLevels = firstLevelMap & (-2 << firstLevel);
+			probe(1);
+			if (firstLevels == 0) return addWithoutSpace(process);
+			firstLevel = Integer.numberOfTrailingZeros(firstLevels);
+			secondLevels = secondLevelMaps[firstLevel];
+		}
+
+		// Add process at the start of the first hole in the free list
+		Hole hole = freeLists[(firstLevel << SECOND_LEVEL_BITS)
+			+ Integer.numberOfTrailingZeros(secondLevels)];
+		hole.slot.add(process, hole.start);
+		return hole.slot;
+	}
+
+	/**
+	 * Adds a process that found no hole. Processes without a size take no
+	 * space, so they go after the last process of the first memory slot, as
+	 * in the other memory allocation methods.
+	 *
+	 * @param process the <code>Process</code> to allocate.
+	 * @return the first <code>MemorySlot</code>, or null if the process has a
+	 * size or there are no memory slots.
+	 */
+	private MemorySlot addWithoutSpace(Process process) {
+		if (process.size > 0 || mList.isEmpty()) return null;
+		MemorySlot slot = mList.get(0);
+		slot.add(process, slot.endMarker);
+		return slot;
+	}
+
+	/**
+	 * Keeps the free lists up to date with the holes of every memory slot.
+	 */
+	private void listen() {
+		for (int position = 0; position < mList.size(); position++) {
+			MemorySlot slot = mList.get(position);
+			long key = (long) position << 32;
+			slot.setHoleListener(new HoleListener() {
+				@Override
+				public void holeAdded(int start, int end) {
+					insert(key | (start & 0xFFFFFFFFL), slot, start, end - start);
+				}
+
+				@Override
+				public void holeRemoved(int start, int end) {
+					remove(key | (start & 0xFFFFFFFFL));
+				}
+			});
+		}
+	}
+
+	/**
+	 * Pushes a hole onto the free list of its size class.
+	 */
+	private void insert(long key, MemorySlot slot, int start, int size) {
+		int sizeClass = sizeClass(size);
+		Hole hole = new Hole(slot, start, sizeClass);
+		holes.put(key, hole);
+
+		// Push onto the free list
+		hole.next = freeLists[sizeClass];
+		if (hole.next != null) hole.next.previous = hole;
+		freeLists[sizeClass] = hole;
+
+		// Mark the size class as having a hole
+		int firstLevel = sizeClass >>> SECOND_LEVEL_BITS;
+		secondLevelMaps[firstLevel] |= 1 << (sizeClass & (SECOND_LEVELS - 1));
+		firstLevelMap |= 1 << firstLevel;
+	}
+
+	/**
+	 * Unlinks a hole from the free list of its size class.
+	 */
+	private void remove(long key) {
+		Hole hole = holes.remove(key);
+		int sizeClass = hole.sizeClass;
+
+		// Unlink from the free list
+		if (hole.previous != null) hole.previous.next = hole.next;
+		else freeLists[sizeClass] = hole.next;
+		if (hole.next != null) hole.next.previous = hole.previous;
+
+		// Unmark the size class once its free list is empty
+		if (freeLists[sizeClass] == null) {
+			int firstLevel = sizeClass >>> SECOND_LEVEL_BITS;
+			secondLevelMaps[firstLevel] &= ~(1 << (sizeClass & (SECOND_LEVELS - 1)));
+			if (secondLevelMaps[firstLevel] == 0) firstLevelMap &= ~(1 << firstLevel);
+		}
+	}
+
+	/**
+	 * Maps a size to its size class, the first level times the number of
+	 * second levels plus the second level.
+	 */
+	private static int sizeClass(int size) {
+		// Small sizes have a class of their own in the first level
+		if (size < SECOND_LEVELS) return size;
+
+		int bit = highestBit(size);
+		int firstLevel = bit - SECOND_LEVEL_BITS + 1;
+		int secondLevel = (size >>> (bit - SECOND_LEVEL_BITS)) & (SECOND_LEVELS - 1);
+		return (firstLevel << SECOND_LEVEL_BITS) | secondLevel;
+	}
+
+	/**
+	 * Retrieves the position of the highest bit set in a positive size.
+	 */
+	private static int highestBit(long size) {
+		return Long.SIZE - 1 - Long.numberOfLeadingZeros(size);
+	}
+}
@@ -3,6 +3,7 @@ package src.algorithm;
 import src.memory.MemoryAllocator;
 import src.memory.MemorySlot;
 import src.memory.Process;
+import src.memory.Workload;
 import src.parser.InvalidNumberException;
 
 import java.io.FileNotFoundException;
@@ -11,7 +12,9 @@ import java.io.FileNotFoundException;
  * <p>The <code>WF</code> class implements the worst-fit memory allocation method.
  *
  * <p>The worst-fit method allocates the largest memory slot to the process that
- * needs allocation. We must search the entire list unless it is sorted by size.
+ * needs allocation. We must search the entire list unless it is sorted by size,
+ * so this implementation keeps the memory slots ordered by space available in
+ * a {@link SlotSizeIndex}.
  * This strategy produces the largest leftover memory slot which may be more \
  * useful than the smaller leftover memory slot from the best-fit approach.
  *
@@ -23,6 +26,8 @@ import java.io.FileNotFoundException;
  * @see FileNotFoundException
  */
 public class WF extends MemoryAllocator {
+	/** Memory slots ordered by space available */
+	private final SlotSizeIndex index;
 
 	/**
 	 * Creates a new worst-fit allocator method given the file paths to the
@@ -38,6 +43,16 @@ public class WF extends MemoryAllocator {
 	 */
 	public WF(String memoryInput, String processInput) throws Exception {
 		super(memoryInput, processInput);
+		index = new SlotSizeIndex(mList);
+	}
+
+	/**
+	 * Creates a new worst-fit allocator method given an already parsed workload.
+	 * @param workload the memory slots and processes to allocate.
+	 */
+	public WF(Workload workload) {
+		super(workload);
+		index = new SlotSizeIndex(mList);
 	}
 
 	/**
@@ -54,28 +69,11 @@ public class WF extends MemoryAllocator {
 	 */
 	@Override
 	public MemorySlot allocateSlot(Process process) {
-		// Represents the algorithm slot that worst fits the process
-		MemorySlot worstFit = null;
-
-		// For each algorithm slot, find the worst fit
-		for (MemorySlot slot : mList) {
-
-			// if process fits in algorithm slot
-			if (process.size <= slot.spaceAvailable()) {
-
-				// Get the largest algorithm slot
-				if (worstFit != null) worstFit = getLargest(worstFit, slot);
-				else worstFit = slot;
-			}
-		}
+		// Find the largest algorithm slot if the process fits in it
+		SlotSizeIndex.Hole worstFit = index.largestFit(process.size);
+		probe(index.visits());
 
 		// Add process to the worst fit algorithm slot
-		if (worstFit != null) worstFit.add(process);
-
-		return worstFit;
-	}
-
-	private MemorySlot getLargest(MemorySlot worstFit, MemorySlot slot) {
-		return slot.spaceAvailable() > worstFit.spaceAvailable() ? slot : worstFit;
+		return worstFit == null ? null : index.add(worstFit, process);
 	}
 }
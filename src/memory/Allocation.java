@@ -0,0 +1,45 @@
+package src.memory;
+
+/**
+ * The <code>Allocation</code> class represents the range of addresses a
+ * process was allocated to, from <code>start</code> up to but not including
+ * <code>end</code>. An <code>Allocation</code> is never changed; a process
+ * that is moved gets a new one.
+ *
+ * @author Richard I. Zhunio
+ * @see MemoryAllocator#ownerOf
+ * @see MemoryAllocator#allocationsIn
+ */
+public final class Allocation {
+	/** Represents the id of the process */
+	public final int id;
+
+	/** Represents the starting address of the process */
+	public final int start;
+
+	/** Represents the ending address of the process */
+	public final int end;
+
+	/**
+	 * Creates a new allocation.
+	 * @param id the id of the process.
+	 * @param start the starting address of the process.
+	 * @param end the ending address of the process.
+	 */
+	public Allocation(int id, int start, int end) {
+		this.id = id;
+		this.start = start;
+		this.end = end;
+	}
+
+	/**
+	 * String representation of an <code>Allocation</code>, in the same
+	 * format as the output of a memory allocation method.
+	 * @return the <code>start</code>, <code>end</code> and <code>id</code>
+	 * of an <code>Allocation</code>
+	 */
+	@Override
+	public String toString() {
+		return start + " " + end + " " + id;
+	}
+}
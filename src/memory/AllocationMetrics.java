@@ -0,0 +1,230 @@
+package src.memory;
+
+// Java SDK Libraries
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.PrintWriter;
+import java.util.List;
+
+/**
+ * <p>The <code>AllocationMetrics</code> class records how a memory allocation
+ * method behaves while it runs: how many allocations succeed and fail, how
+ * many search steps ({@code probes}) each allocation takes, how long each
+ * allocation takes, and how fragmented the free space is at the end.
+ *
+ * <p>A search step is one node of the index a method searches: a node of the
+ * segment tree over the memory slots, or of the tree of holes inside a memory
+ * slot, for FF, NF and FFD, a node of the tree of holes by size for BF, WF
+ * and BFD, an order of free lists for Buddy, and a bitmap lookup for TLSF. Every
+ * search counts at least one step, even when the index is empty.
+ *
+ * <p>Latencies are kept in a histogram with logarithmic buckets, each split
+ * into {@value #SUB_BUCKETS} linear sub-buckets, in the style of an HDR
+ * histogram. Any latency is recorded with a relative error below
+ * 1/{@value #SUB_BUCKETS}, in a fixed array. Recording never allocates.
+ *
+ * <p>External fragmentation is <code>1 - largest / free</code>, where
+ * <code>largest</code> is the largest {@link MemorySlot#spaceAvailable} and
+ * <code>free</code> is the sum of {@link MemorySlot#freeSpace} over every
+ * memory slot. It is 0 when all free space is in one hole, and close to 1 when
+ * the free space is split into many small holes.
+ *
+ * @author Richard I. Zhunio
+ * @see MemoryAllocator#setMetrics
+ */
+public class AllocationMetrics {
+	/** Number of linear sub-buckets in each logarithmic bucket */
+	private static final int SUB_BUCKETS = 16;
+
+	/** Bits needed to index the sub-buckets */
+	private static final int SUB_BUCKET_BITS = 4;
+
+	/** Allocations that succeeded */
+	private long allocated;
+
+	/** Allocations that failed */
+	private long unallocated;
+
+	/** Search steps of every allocation */
+	private long probes;
+
+	/** Most search steps of a single allocation */
+	private long maxProbes;
+
+	/** Nanoseconds of every allocation */
+	private long totalNanos;
+
+	/** Latency histogram, by bucket index */
+	private final long[] latencies = new long[(Long.SIZE - SUB_BUCKET_BITS + 1) * SUB_BUCKETS];
+
+	/** Sum of the free space of every memory slot */
+	private long freeSpace;
+
+	/** Largest space available of any memory slot */
+	private long largestFree;
+
+	/**
+	 * Records a single allocation.
+	 *
+	 * @param nanos   how long the allocation took, in nanoseconds.
+	 * @param steps   how many search steps the allocation took.
+	 * @param success true if the process was allocated.
+	 */
+	public void record(long nanos, long steps, boolean success) {
+		if (success) allocated++;
+		else unallocated++;
+
+		probes += steps;
+		maxProbes = Math.max(maxProbes, steps);
+		totalNanos += nanos;
+		latencies[bucket(Math.max(nanos, 0))]++;
+	}
+
+	/**
+	 * Measures the fragmentation of the free space of the given memory slots.
+	 *
+	 * @param mList the memory slots.
+	 */
+	public void measure(List<MemorySlot> mList) {
+		freeSpace = 0;
+		largestFree = 0;
+		for (MemorySlot slot : mList) {
+			freeSpace += slot.freeSpace();
+			largestFree = Math.max(largestFree, slot.spaceAvailable());
+		}
+	}
+
+	/**
+	 * Retrieves the number of allocations recorded.
+	 *
+	 * @return the number of allocations recorded.
+	 */
+	public long allocations() {
+		return allocated + unallocated;
+	}
+
+	/**
+	 * Retrieves the number of allocations that succeeded.
+	 *
+	 * @return the number of processes allocated.
+	 */
+	public long allocated() {
+		return allocated;
+	}
+
+	/**
+	 * Retrieves the mean number of search steps per allocation.
+	 *
+	 * @return the mean number of search steps, or 0 if no allocation was
+	 * recorded.
+	 */
+	public double meanProbes() {
+		return allocations() == 0 ? 0 : (double) probes / allocations();
+	}
+
+	/**
+	 * Retrieves the free space measured by {@link #measure}.
+	 *
+	 * @return the sum of the free space of every memory slot.
+	 */
+	public long freeSpace() {
+		return freeSpace;
+	}
+
+	/**
+	 * Retrieves the largest hole measured by {@link #measure}.
+	 *
+	 * @return the largest space available of any memory slot.
+	 */
+	public long largestFree() {
+		return largestFree;
+	}
+
+	/**
+	 * Retrieves the fraction of allocations that succeeded.
+	 *
+	 * @return the fraction of allocations that succeeded, or 0 if none was
+	 * recorded.
+	 */
+	public double successRatio() {
+		return allocations() == 0 ? 0 : (double) allocated / allocations();
+	}
+
+	/**
+	 * Retrieves the external fragmentation measured by {@link #measure}.
+	 *
+	 * @return the external fragmentation, from 0 to 1.
+	 */
+	public double externalFragmentation() {
+		return freeSpace == 0 ? 0 : 1 - (double) largestFree / freeSpace;
+	}
+
+	/**
+	 * Retrieves the latency below which the given fraction of allocations
+	 * took, rounded down to the start of its histogram bucket.
+	 *
+	 * @param fraction the fraction of allocations, from 0 to 1.
+	 * @return the latency in nanoseconds.
+	 */
+	public long latencyPercentile(double fraction) {
+		long rank = (long) Math.ceil(fraction * allocations());
+		long seen = 0;
+		for (int bucket = 0; bucket < latencies.length; bucket++) {
+			seen += latencies[bucket];
+			if (seen >= rank && seen > 0) return lowestValue(bucket);
+		}
+		return 0;
+	}
+
+	/**
+	 * Writes a JSON summary of these metrics to a file.
+	 *
+	 * @param file      the file to write to.
+	 * @param algorithm the name of the memory allocation method.
+	 * @throws FileNotFoundException if the file cannot be written.
+	 */
+	public void write(File file, String algorithm) throws FileNotFoundException {
+		long count = allocations();
+		try (PrintWriter writer = new PrintWriter(file)) {
+			writer.println("{");
+			writer.println("  \"algorithm\": \"" + algorithm + "\",");
+			writer.println("  \"allocations\": " + count + ",");
+			writer.println("  \"allocated\": " + allocated + ",");
+			writer.println("  \"unallocated\": " + unallocated + ",");
+			writer.println("  \"successRatio\": " + successRatio() + ",");
+			writer.println("  \"probes\": {\"total\": " + probes + ", \"mean\": "
+				+ (count == 0 ? 0.0 : (double) probes / count) + ", \"max\": " + maxProbes + "},");
+			writer.println("  \"latencyNanos\": {\"mean\": "
+				+ (count == 0 ? 0.0 : (double) totalNanos / count)
+				+ ", \"p50\": " + latencyPercentile(0.5)
+				+ ", \"p90\": " + latencyPercentile(0.9)
+				+ ", \"p99\": " + latencyPercentile(0.99)
+				+ ", \"p999\": " + latencyPercentile(0.999)
+				+ ", \"max\": " + latencyPercentile(1) + "},");
+			writer.println("  \"fragmentation\": {\"freeSpace\": " + freeSpace
+				+ ", \"largestFree\": " + largestFree
+				+ ", \"external\": " + externalFragmentation() + "}");
+			writer.println("}");
+		}
+	}
+
+	/**
+	 * Maps a latency to its histogram bucket. Small latencies have a bucket
+	 * of their own; larger ones keep their highest {@value #SUB_BUCKET_BITS}
+	 * bits below the leading one.
+	 */
+	private static int bucket(long nanos) {
+		if (nanos < 2 * SUB_BUCKETS) return (int) nanos;
+		int shift = Long.SIZE - Long.numberOfLeadingZeros(nanos) - SUB_BUCKET_BITS - 1;
+		return shift * SUB_BUCKETS + (int) (nanos >>> shift);
+	}
+
+	/**
+	 * Retrieves the lowest latency that maps to a histogram bucket.
+	 */
+	private static long lowestValue(int bucket) {
+		if (bucket < 2 * SUB_BUCKETS) return bucket;
+		int shift = bucket / SUB_BUCKETS - 1;
+		return (long) (bucket % SUB_BUCKETS + SUB_BUCKETS) << shift;
+	}
+}
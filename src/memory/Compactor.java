@@ -0,0 +1,285 @@
+package src.memory;
+
+// Java SDK Libraries
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * <p>The <code>Compactor</code> class makes room for a process that does not
+ * fit in any hole, by moving allocated processes so that free space that is
+ * split into several holes becomes a single hole. It only ever runs when the
+ * total free space of every memory slot is enough for the process.
+ *
+ * <p>A relocation plan is computed before anything is moved, and nothing is
+ * moved if the plan cannot make enough room:
+ * <ul>
+ * <li>If some memory slots have enough free space on their own, the processes
+ * of one of them are slid towards its start, in address order, until the gap
+ * left after the last one is big enough. The memory slot that copies the
+ * fewest bytes is chosen. Its cost is found by walking its holes in address
+ * order, without sorting its processes, and only the chosen memory slot is
+ * sorted to slide it.</li>
+ * <li>Otherwise, the memory slot with the most free space is emptied out,
+ * largest processes first, into holes of the other memory slots until it has
+ * enough free space, and then slid as above.</li>
+ * </ul>
+ *
+ * <p>This is a greedy plan, not the plan that moves the fewest bytes over
+ * every memory slot, which would have to weigh every way of mixing slides
+ * and evictions across memory slots. The cheapest single slide is exact
+ * among slides of one memory slot.
+ *
+ * <p>Processes are moved through {@link MemorySlot#free} and
+ * {@link MemorySlot#add(Process, int)}, so the indexes that memory
+ * allocation methods keep through a {@link HoleListener} stay up to date.
+ *
+ * @author Richard I. Zhunio
+ * @see MemoryAllocator#setCompaction
+ * @see RelocationListener
+ */
+class Compactor {
+	/** List of memory slots */
+	private final List<MemorySlot> mList;
+
+	/** Told about every process moved */
+	private final RelocationListener listener;
+
+	/** Process moved around, reused for every move */
+	private final Process process = new Process(0, 0);
+
+	/** Total free space of every memory slot */
+	private long freeSpace;
+
+	/** Number of processes moved */
+	private long moves;
+
+	/** Number of bytes copied by the moves */
+	private long bytesMoved;
+
+	/**
+	 * Creates a new <code>Compactor</code> over the given memory slots.
+	 *
+	 * @param mList    the list of memory slots.
+	 * @param listener told about every process moved.
+	 */
+	Compactor(List<MemorySlot> mList, RelocationListener listener) {
+		this.mList = mList;
+		this.listener = listener;
+		for (MemorySlot slot : mList) freeSpace += slot.freeSpace();
+	}
+
+	/**
+	 * Updates the total free space after a memory slot changed.
+	 *
+	 * @param change the change of free space, negative when space was taken.
+	 */
+	void changed(long change) {
+		freeSpace += change;
+	}
+
+	/**
+	 * Retrieves the number of processes moved so far.
+	 * @return the number of processes moved.
+	 */
+	long moves() {
+		return moves;
+	}
+
+	/**
+	 * Retrieves the number of bytes copied by the moves so far.
+	 * @return the number of bytes copied.
+	 */
+	long bytesMoved() {
+		return bytesMoved;
+	}
+
+	/**
+	 * Moves processes until some memory slot has a hole of at least
+	 * <code>size</code>.
+	 *
+	 * @param size   the size of the hole to make.
+	 * @param owners the position of the memory slot of each allocated
+	 *               process, updated when a process moves to another memory
+	 *               slot, or null.
+	 * @return true if a big enough hole was made.
+	 */
+	boolean makeRoom(int size, IntIntMap owners) {
+		// Nothing can be done if the free space is not enough in total
+		if (size <= 0 || freeSpace < size) return false;
+
+		// Slide the memory slot that copies the fewest bytes
+		int cheapest = -1;
+		long cheapestCost = Long.MAX_VALUE;
+		int roomiest = -1;
+		for (int position = 0; position < mList.size(); position++) {
+			MemorySlot slot = mList.get(position);
+			if (slot.freeSpace() >= size) {
+				long cost = slideCost(slot, size);
+				if (cost < cheapestCost) {
+					cheapest = position;
+					cheapestCost = cost;
+				}
+			}
+			if (roomiest < 0 || slot.freeSpace() > mList.get(roomiest).freeSpace())
+				roomiest = position;
+		}
+		if (cheapest >= 0) {
+			slide(mList.get(cheapest), size);
+			return true;
+		}
+
+		// Otherwise empty out the memory slot with the most free space
+		if (roomiest < 0) return false;
+		MemorySlot target = mList.get(roomiest);
+		int[] plan = evictionPlan(roomiest, size);
+		if (plan == null) return false;
+
+		for (int move = 0; move < plan.length; move += 2) {
+			int index = plan[move];
+			int position = plan[move + 1];
+			MemorySlot destination = mList.get(position);
+			process.id = target.processId(index);
+			process.size = target.processSize(index);
+			int from = target.processStart(index);
+
+			// Processes are freed afterwards, so the indexes stay valid
+			destination.add(process);
+			moved(process.id, from, destination.startMarker, process.size);
+			if (owners != null) owners.put(process.id, position);
+		}
+
+		// Free the moved processes, highest index first
+		int[] indexes = new int[plan.length / 2];
+		for (int move = 0; move < plan.length; move += 2) indexes[move / 2] = plan[move];
+		Arrays.sort(indexes);
+		for (int i = indexes.length - 1; i >= 0; i--)
+			target.free(target.processId(indexes[i]));
+
+		slide(target, size);
+		return true;
+	}
+
+	/**
+	 * Plans which processes of a memory slot to move into which other memory
+	 * slots, largest first, until the memory slot has enough free space. The
+	 * space available of each other memory slot is only ever underestimated,
+	 * so every planned move fits when it is applied.
+	 *
+	 * @return pairs of process index and destination position, or null if
+	 * not enough room can be made.
+	 */
+	private int[] evictionPlan(int position, int size) {
+		MemorySlot target = mList.get(position);
+		long missing = size - target.freeSpace();
+
+		// Processes with a size, largest first
+		long[] bySize = new long[target.processCount()];
+		int count = 0;
+		for (int index = 0; index < target.processCount(); index++)
+			if (target.processSize(index) > 0)
+				bySize[count++] = ((long) ~target.processSize(index) << 32) | index;
+		Arrays.sort(bySize, 0, count);
+
+		// Space left in each other memory slot as moves are planned
+		int[] space = new int[mList.size()];
+		for (int other = 0; other < mList.size(); other++)
+			space[other] = other == position ? -1 : mList.get(other).spaceAvailable();
+
+		List<Integer> plan = new ArrayList<>();
+		for (int next = 0; next < count && missing > 0; next++) {
+			int index = (int) bySize[next];
+			int processSize = target.processSize(index);
+
+			// First other memory slot with room for the process
+			for (int other = 0; other < space.length; other++) {
+				if (space[other] >= processSize) {
+					space[other] -= processSize;
+					plan.add(index);
+					plan.add(other);
+					missing -= processSize;
+					break;
+				}
+			}
+		}
+		if (missing > 0) return null;
+
+		int[] moves = new int[plan.size()];
+		for (int i = 0; i < moves.length; i++) moves[i] = plan.get(i);
+		return moves;
+	}
+
+	/**
+	 * Computes the number of bytes {@link #slide} copies, from the holes of
+	 * a memory slot. The processes before the first hole stay in place, every
+	 * process from there up to the first hole that brings the free space
+	 * seen so far to <code>size</code> is copied, and none after it.
+	 *
+	 * @param slot the memory slot, with at least <code>size</code> free space.
+	 * @param size the size of the hole to make.
+	 * @return the number of bytes copied.
+	 */
+	private static long slideCost(MemorySlot slot, int size) {
+		HoleTree.Hole first = slot.holeAfter(slot.getStart());
+		long free = 0;
+		for (HoleTree.Hole hole = first; hole != null; hole = slot.holeAfter(hole.end)) {
+			// Process bytes between the first hole and this one
+			if (free + (hole.end - hole.start) >= size)
+				return hole.start - first.start - free;
+			free += hole.end - hole.start;
+		}
+
+		// Before the first free, the only hole is after the last process
+		return 0;
+	}
+
+	/**
+	 * Slides the processes of a memory slot towards its start, in address
+	 * order, until the gap after the last one slid is at least
+	 * <code>size</code>.
+	 *
+	 * @param slot the memory slot.
+	 * @param size the size of the hole to make.
+	 */
+	private void slide(MemorySlot slot, int size) {
+		// Processes with a size, in address order
+		long[] byStart = new long[slot.processCount()];
+		int[] sizes = new int[slot.processCount()];
+		int count = 0;
+		for (int index = 0; index < slot.processCount(); index++)
+			if (slot.processSize(index) > 0)
+				byStart[count++] = ((long) slot.processStart(index) << 32) | index;
+		Arrays.sort(byStart, 0, count);
+
+		// Moving a process changes the indexes, so keep ids and sizes first
+		int[] ids = new int[count];
+		for (int next = 0; next < count; next++) {
+			int index = (int) byStart[next];
+			ids[next] = slot.processId(index);
+			sizes[next] = slot.processSize(index);
+		}
+
+		long cursor = slot.getStart();
+		for (int next = 0; next < count; next++) {
+			int start = (int) (byStart[next] >> 32);
+
+			// Stop once the gap in front of this process is big enough
+			if (start - cursor >= size) break;
+
+			if (start != cursor) {
+				slot.move(ids[next], (int) cursor);
+				moved(ids[next], start, (int) cursor, sizes[next]);
+			}
+			cursor += sizes[next];
+		}
+	}
+
+	/**
+	 * Counts and reports a move.
+	 */
+	private void moved(int id, int from, int to, int size) {
+		moves++;
+		bytesMoved += size;
+		if (listener != null) listener.relocated(id, from, to, size);
+	}
+}
@@ -0,0 +1,207 @@
+package src.memory;
+
+// Java SDK Libraries
+import java.util.List;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * <p>The <code>ConcurrentAllocator</code> class allocates and frees processes
+ * in a list of memory slots from many threads at the same time. Instead of a
+ * global lock it uses lock striping, one lock per memory slot; it is not
+ * lock-free.
+ *
+ * <p>The memory slots themselves hold the state, just as they do for the
+ * other memory allocation methods: every process is added to its memory slot
+ * with {@link MemorySlot#add(Process)}, in the hole with the lowest address
+ * that fits, and freed with {@link MemorySlot#free}, which merges its space
+ * with the holes around it. Each memory slot is locked on its own while it
+ * changes, so threads contend only when they use the same memory slot at the
+ * same time.
+ *
+ * <p>The space available of each memory slot is also kept in an
+ * <code>AtomicIntegerArray</code>, which threads read without locking to skip
+ * the memory slots that are too small. A memory slot may fill up between that
+ * read and the lock, so its space available is checked again under the lock,
+ * and the search moves on to the next memory slot if the process no longer
+ * fits.
+ *
+ * <p>Each thread starts its search at the memory slot where its previous
+ * search ended, as the next-fit method does, and the first search of each
+ * thread starts at a different memory slot. This spreads the threads over the
+ * memory slots, so throughput grows with the number of threads.
+ *
+ * <p>A placement is returned as a <code>long</code> holding the position of
+ * the memory slot and the starting address of the process, which
+ * {@link #slotOf} and {@link #addressOf} take apart. Process ids are not
+ * checked for uniqueness, as in {@link MemoryAllocator}.
+ *
+ * <p>While the allocator is in use, the memory slots must not be changed or
+ * read by anything else. Once every thread is done, the memory slots hold
+ * every process allocated, and can be given to a {@link Workload} for any
+ * other memory allocation method, for example to find the owner of an
+ * address.
+ *
+ * @author Richard I. Zhunio
+ * @see MemorySlot
+ * @see MemoryAllocator
+ * @see ShardedAllocator
+ */
+public class ConcurrentAllocator {
+	/** Returned by {@link #allocate} when no memory slot has enough space */
+	public static final long NO_SPACE = -1;
+
+	/** Memory slots by position, each one locked on its own */
+	private final MemorySlot[] slots;
+
+	/** Space available of each memory slot, read without locking */
+	private final AtomicIntegerArray spaces;
+
+	/** Position where each thread starts its next search */
+	private final ThreadLocal<int[]> cursors;
+
+	/**
+	 * Creates a new <code>ConcurrentAllocator</code> over the given memory
+	 * slots, which may already hold processes.
+	 *
+	 * @param mList the memory slots to allocate from.
+	 */
+	public ConcurrentAllocator(List<MemorySlot> mList) {
+		slots = mList.toArray(new MemorySlot[0]);
+		spaces = new AtomicIntegerArray(slots.length);
+		for (int position = 0; position < slots.length; position++)
+			spaces.set(position, slots[position].spaceAvailable());
+
+		// Spread the first search of each thread over the memory slots
+		cursors = ThreadLocal.withInitial(() -> new int[]{slots.length == 0 ? 0
+			: (int) Math.floorMod(Thread.currentThread().getId() * 0x9E3779B97F4A7C15L,
+				(long) slots.length)});
+	}
+
+	/**
+	 * Allocates a process in the first memory slot, from where the previous
+	 * search of this thread ended, that has enough space available.
+	 *
+	 * @param processId   the id of the process.
+	 * @param processSize the size of the process.
+	 * @return the placement of the process, or {@link #NO_SPACE} if no memory
+	 * slot has enough space available.
+	 */
+	public long allocate(int processId, int processSize) {
+		if (processSize < 0)
+			throw new IllegalArgumentException("Negative size: " + processSize);
+
+		int[] cursor = cursors.get();
+		for (int probe = 0; probe < slots.length; probe++) {
+			int position = cursor[0] + probe;
+			if (position >= slots.length) position -= slots.length;
+
+			long placement = claim(position, processId, processSize);
+			if (placement != NO_SPACE) {
+				cursor[0] = position;
+				return placement;
+			}
+		}
+
+		return NO_SPACE;
+	}
+
+	/**
+	 * Frees a process, so that its space can be allocated again.
+	 *
+	 * @param processId the id of the process.
+	 * @param placement the placement returned when the process was allocated.
+	 * @return true if the process was in the memory slot of the placement
+	 * and has been freed, false if it was not or the placement is
+	 * {@link #NO_SPACE} or of no memory slot.
+	 */
+	public boolean free(int processId, long placement) {
+		int position = slotOf(placement);
+		if (placement == NO_SPACE || position < 0 || position >= slots.length)
+			return false;
+
+		MemorySlot slot = slots[position];
+		synchronized (slot) {
+			boolean freed = slot.free(processId);
+			spaces.set(position, slot.spaceAvailable());
+			return freed;
+		}
+	}
+
+	/**
+	 * Allocates a process in a single memory slot.
+	 *
+	 * @param position    the position of the memory slot.
+	 * @param processId   the id of the process.
+	 * @param processSize the size of the process.
+	 * @return the placement of the process, or {@link #NO_SPACE} if the
+	 * memory slot does not have enough space available.
+	 */
+	long claim(int position, int processId, int processSize) {
+		// Skip memory slots that are too small without locking them
+		if (spaces.get(position) < processSize) return NO_SPACE;
+
+		MemorySlot slot = slots[position];
+		synchronized (slot) {
+			// Another thread may have taken the space in the meantime
+			if (slot.spaceAvailable() < processSize) return NO_SPACE;
+
+			slot.add(new Process(processId, processSize));
+			spaces.set(position, slot.spaceAvailable());
+			return ((long) position << 32) | (slot.startMarker & 0xFFFFFFFFL);
+		}
+	}
+
+	/**
+	 * Retrieves the space available in a memory slot, which is the size of
+	 * its largest hole.
+	 *
+	 * @param position the position of the memory slot.
+	 * @return the space available in the memory slot.
+	 */
+	public int spaceAvailable(int position) {
+		return spaces.get(position);
+	}
+
+	/**
+	 * Retrieves the free space in a memory slot, which is the total size of
+	 * its holes.
+	 *
+	 * @param position the position of the memory slot.
+	 * @return the free space in the memory slot.
+	 */
+	public long freeSpace(int position) {
+		MemorySlot slot = slots[position];
+		synchronized (slot) {
+			return slot.freeSpace();
+		}
+	}
+
+	/**
+	 * Retrieves the number of memory slots.
+	 *
+	 * @return the number of memory slots.
+	 */
+	public int slotCount() {
+		return slots.length;
+	}
+
+	/**
+	 * Retrieves the position of the memory slot of a placement.
+	 *
+	 * @param placement a placement returned by {@link #allocate}.
+	 * @return the position of the memory slot.
+	 */
+	public static int slotOf(long placement) {
+		return (int) (placement >>> 32);
+	}
+
+	/**
+	 * Retrieves the starting address of a placement.
+	 *
+	 * @param placement a placement returned by {@link #allocate}.
+	 * @return the starting address of the process.
+	 */
+	public static int addressOf(long placement) {
+		return (int) placement;
+	}
+}
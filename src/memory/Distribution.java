@@ -0,0 +1,149 @@
+package src.memory;
+
+// Java SDK Libraries
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * <p>The <code>Distribution</code> enum lists the distributions the sizes of
+ * generated memory slots and processes can be drawn from. Every size is at
+ * least 1 and at most <code>Integer.MAX_VALUE</code>.
+ *
+ * <p>Every distribution but Zipf is scaled so that its mean is close to the
+ * mean size it is asked for, which keeps the total size of the processes
+ * comparable to the total size of the memory slots across distributions.
+ * The same random numbers always draw the same sizes, so the files written
+ * by the generator and the workloads of the benchmarks are reproducible.
+ *
+ * @author Richard I. Zhunio
+ * @see src.Generator
+ */
+public enum Distribution {
+	/** Uniform between 1 and <code>2 * mean - 1</code> */
+	UNIFORM {
+		@Override
+		public int sample(SplittableRandom random, int mean) {
+			return 1 + random.nextInt(Math.max(2 * mean - 1, 1));
+		}
+	},
+
+	/** Normal around the mean, with a standard deviation of a quarter of it */
+	NORMAL {
+		@Override
+		public int sample(SplittableRandom random, int mean) {
+			return clamp(mean + gaussian(random) * mean / 4);
+		}
+	},
+
+	/**
+	 * Zipf with exponent {@value #ZIPF_EXPONENT} over the sizes 1 to
+	 * {@value #ZIPF_RANGE} times the mean: most sizes are small, and a
+	 * few are very large. The mean only sets the scale.
+	 */
+	ZIPF {
+		@Override
+		public int sample(SplittableRandom random, int mean) {
+			return zipf(random, (long) mean * ZIPF_RANGE);
+		}
+	},
+
+	/**
+	 * Nine in ten sizes around half the mean and one in ten around five
+	 * and a half times the mean, so the overall mean is kept.
+	 */
+	BIMODAL {
+		@Override
+		public int sample(SplittableRandom random, int mean) {
+			return random.nextInt(10) == 0
+				? clamp(5.5 * mean + gaussian(random) * mean)
+				: clamp(0.5 * mean + gaussian(random) * mean / 8);
+		}
+	},
+
+	/** Pareto with shape 1.5, most sizes are small and a few are very large */
+	HEAVY_TAILED {
+		@Override
+		public int sample(SplittableRandom random, int mean) {
+			double scale = mean / 3.0;
+			return clamp(scale / Math.pow(1.0 - random.nextDouble(), 1 / 1.5));
+		}
+	};
+
+	/** Exponent of the Zipf distribution */
+	private static final double ZIPF_EXPONENT = 1.2;
+
+	/** Largest Zipf size, as a multiple of the mean */
+	private static final int ZIPF_RANGE = 100;
+
+	/**
+	 * Draws a size.
+	 *
+	 * @param random the random numbers to draw from.
+	 * @param mean   the mean size.
+	 * @return a size between 1 and <code>Integer.MAX_VALUE</code>.
+	 */
+	public abstract int sample(SplittableRandom random, int mean);
+
+	/**
+	 * Finds the distribution with the given name, ignoring case.
+	 *
+	 * @param name the name of the distribution, such as zipf.
+	 * @return the distribution.
+	 * @throws IllegalArgumentException if there is no such distribution.
+	 */
+	public static Distribution of(String name) {
+		return valueOf(name.toUpperCase(Locale.ROOT));
+	}
+
+	private static int clamp(double size) {
+		return (int) Math.max(1, Math.min(Integer.MAX_VALUE, Math.round(size)));
+	}
+
+	/**
+	 * Draws from the standard normal distribution with the polar method.
+	 */
+	private static double gaussian(SplittableRandom random) {
+		double x, y, square;
+		do {
+			x = 2 * random.nextDouble() - 1;
+			y = 2 * random.nextDouble() - 1;
+			square = x * x + y * y;
+		} while (square >= 1 || square == 0);
+		return x * Math.sqrt(-2 * Math.log(square) / square);
+	}
+
+	/**
+	 * Draws from the Zipf distribution over 1 to <code>n</code> by
+	 * rejection-inversion, after W. Hormann and G. Derflinger, which
+	 * takes constant time and memory whatever <code>n</code> is.
+	 */
+	private static int zipf(SplittableRandom random, long n) {
+		n = Math.max(1, Math.min(n, Integer.MAX_VALUE));
+		double lowest = zipfIntegral(1.5) - 1;
+		double highest = zipfIntegral(n + 0.5);
+		double squeeze = 2 - zipfIntegralInverse(zipfIntegral(2.5) - zipfDensity(2));
+
+		while (true) {
+			double u = highest + random.nextDouble() * (lowest - highest);
+			double x = zipfIntegralInverse(u);
+			long k = Math.max(1, Math.min(n, Math.round(x)));
+			if (k - x <= squeeze || u >= zipfIntegral(k + 0.5) - zipfDensity(k))
+				return (int) k;
+		}
+	}
+
+	private static double zipfDensity(double x) {
+		return Math.exp(-ZIPF_EXPONENT * Math.log(x));
+	}
+
+	private static double zipfIntegral(double x) {
+		double log = Math.log(x);
+		double t = (1 - ZIPF_EXPONENT) * log;
+		return (Math.abs(t) > 1e-8 ? Math.expm1(t) / t : 1 + t / 2) * log;
+	}
+
+	private static double zipfIntegralInverse(double x) {
+		double t = Math.max(x * (1 - ZIPF_EXPONENT), -1);
+		return Math.exp((Math.abs(t) > 1e-8 ? Math.log1p(t) / t : 1 - t / 2) * x);
+	}
+}
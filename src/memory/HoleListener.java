@@ -0,0 +1,32 @@
+package src.memory;
+
+/**
+ * <p>A <code>HoleListener</code> is told whenever a free hole of a
+ * <code>MemorySlot</code> appears or disappears, so that an index kept over
+ * the free space of many memory slots can stay up to date.
+ *
+ * <p>A hole is a range of free addresses, from <code>start</code> up to but
+ * not including <code>end</code>. Holes are never empty. When a hole changes
+ * size, it is first removed and then the holes that remain are added.
+ *
+ * @author Richard I. Zhunio
+ * @see MemorySlot#setHoleListener
+ */
+public interface HoleListener {
+
+	/**
+	 * Called when a hole appears in the memory slot.
+	 *
+	 * @param start the starting address of the hole.
+	 * @param end   the ending address of the hole.
+	 */
+	void holeAdded(int start, int end);
+
+	/**
+	 * Called when a hole disappears from the memory slot.
+	 *
+	 * @param start the starting address of the hole.
+	 * @param end   the ending address of the hole.
+	 */
+	void holeRemoved(int start, int end);
+}
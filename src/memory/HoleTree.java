@@ -0,0 +1,274 @@
+package src.memory;
+
+/**
+ * <p>The <code>HoleTree</code> class keeps the holes of a memory slot ordered
+ * by starting address, in a treap where every node also holds the size of
+ * the largest hole below it. This finds the hole with the lowest address that
+ * is big enough for a size by walking down from the root, always taking the
+ * left child when it is big enough, in logarithmic expected time instead of
+ * checking every hole in address order.
+ *
+ * <p>The priority of each node is a hash of its starting address, so the
+ * shape of the tree, and the number of nodes visited, is the same on every
+ * run.
+ *
+ * @author Richard I. Zhunio
+ * @see MemorySlot
+ */
+class HoleTree {
+	/**
+	 * A hole, from <code>start</code> up to but not including
+	 * <code>end</code>.
+	 */
+	static final class Hole {
+		/** Starting address of this hole */
+		final int start;
+
+		/** Ending address of this hole */
+		final int end;
+
+		/** Priority of this node, higher priorities are closer to the root */
+		final int priority;
+
+		/** Size of the largest hole below this node, including it */
+		int largest;
+
+		/** Holes with lower addresses */
+		Hole left;
+
+		/** Holes with higher addresses */
+		Hole right;
+
+		Hole(int start, int end) {
+			this.start = start;
+			this.end = end;
+			this.priority = mix(start);
+			this.largest = end - start;
+		}
+	}
+
+	/** Root of the treap, null when there are no holes */
+	private Hole root;
+
+	/** Nodes visited by the searches since the last call to {@link #visits} */
+	private long visits;
+
+	/**
+	 * Retrieves the size of the largest hole.
+	 *
+	 * @return the size of the largest hole, or 0 if there are no holes.
+	 */
+	int largest() {
+		return root == null ? 0 : root.largest;
+	}
+
+	/**
+	 * Adds a hole. No hole may start at the same address.
+	 *
+	 * @param start the starting address of the hole.
+	 * @param end   the ending address of the hole.
+	 */
+	void add(int start, int end) {
+		root = add(root, new Hole(start, end));
+	}
+
+	/**
+	 * Removes the hole that starts at the given address, if any.
+	 *
+	 * @param start the starting address of the hole.
+	 */
+	void remove(int start) {
+		if (get(start) != null) root = remove(root, start);
+	}
+
+	/**
+	 * Finds the hole that starts at the given address.
+	 *
+	 * @param start the starting address of the hole.
+	 * @return the hole, or null if no hole starts there.
+	 */
+	Hole get(int start) {
+		Hole node = root;
+		while (node != null && node.start != start)
+			node = start < node.start ? node.left : node.right;
+		return node;
+	}
+
+	/**
+	 * Finds the hole with the highest starting address at or before the
+	 * given address.
+	 *
+	 * @param address the address.
+	 * @return the hole, or null if every hole starts after the address.
+	 */
+	Hole floor(int address) {
+		Hole floor = null;
+		for (Hole node = root; node != null; ) {
+			if (node.start <= address) {
+				floor = node;
+				node = node.right;
+			}
+			else node = node.left;
+		}
+		return floor;
+	}
+
+	/**
+	 * Finds the hole with the lowest starting address at or after the given
+	 * address.
+	 *
+	 * @param address the address.
+	 * @return the hole, or null if every hole starts before the address.
+	 */
+	Hole ceiling(int address) {
+		Hole ceiling = null;
+		for (Hole node = root; node != null; ) {
+			if (node.start >= address) {
+				ceiling = node;
+				node = node.left;
+			}
+			else node = node.right;
+		}
+		return ceiling;
+	}
+
+	/**
+	 * Finds the hole with the lowest starting address that is big enough
+	 * for the given size.
+	 *
+	 * @param size the size that must fit in the hole.
+	 * @return the hole, or null if no hole is big enough.
+	 */
+	Hole firstFit(int size) {
+		visits++;
+		if (root == null || root.largest < size) return null;
+
+		// Walk down, preferring the lower addresses whenever they fit
+		Hole node = root;
+		while (true) {
+			if (node.left != null && node.left.largest >= size) node = node.left;
+			else if (node.end - node.start >= size) return node;
+			else node = node.right;
+			visits++;
+		}
+	}
+
+	/**
+	 * Retrieves the number of nodes visited by the searches since the last
+	 * call to this method.
+	 *
+	 * @return the number of nodes visited.
+	 */
+	long visits() {
+		long count = visits;
+		visits = 0;
+		return count;
+	}
+
+	/**
+	 * Tells the listener about every hole, in address order.
+	 *
+	 * @param listener the listener.
+	 */
+	void forEach(HoleListener listener) {
+		forEach(root, listener);
+	}
+
+	/**
+	 * Creates a copy of this tree that shares no nodes with it.
+	 *
+	 * @return the copy.
+	 */
+	HoleTree copy() {
+		HoleTree copy = new HoleTree();
+		copy.root = copy(root);
+		return copy;
+	}
+
+	private static Hole add(Hole node, Hole hole) {
+		if (node == null) return hole;
+
+		// Rotate the new hole up while its priority is higher
+		if (hole.start < node.start) {
+			node.left = add(node.left, hole);
+			if (node.left.priority > node.priority) node = rotateRight(node);
+		} else {
+			node.right = add(node.right, hole);
+			if (node.right.priority > node.priority) node = rotateLeft(node);
+		}
+		return update(node);
+	}
+
+	private static Hole remove(Hole node, int start) {
+		if (start < node.start) node.left = remove(node.left, start);
+		else if (start > node.start) node.right = remove(node.right, start);
+		else return merge(node.left, node.right);
+		return update(node);
+	}
+
+	/**
+	 * Joins two treaps where every hole of <code>low</code> comes before
+	 * every hole of <code>high</code>.
+	 */
+	private static Hole merge(Hole low, Hole high) {
+		if (low == null) return high;
+		if (high == null) return low;
+		if (low.priority > high.priority) {
+			low.right = merge(low.right, high);
+			return update(low);
+		}
+		high.left = merge(low, high.left);
+		return update(high);
+	}
+
+	private static Hole rotateRight(Hole node) {
+		Hole left = node.left;
+		node.left = left.right;
+		left.right = update(node);
+		return left;
+	}
+
+	private static Hole rotateLeft(Hole node) {
+		Hole right = node.right;
+		node.right = right.left;
+		right.left = update(node);
+		return right;
+	}
+
+	/**
+	 * Recomputes the largest hole below a node from its children.
+	 */
+	private static Hole update(Hole node) {
+		int largest = node.end - node.start;
+		if (node.left != null) largest = Math.max(largest, node.left.largest);
+		if (node.right != null) largest = Math.max(largest, node.right.largest);
+		node.largest = largest;
+		return node;
+	}
+
+	private static void forEach(Hole node, HoleListener listener) {
+		if (node == null) return;
+		forEach(node.left, listener);
+		listener.holeAdded(node.start, node.end);
+		forEach(node.right, listener);
+	}
+
+	private static Hole copy(Hole node) {
+		if (node == null) return null;
+		Hole copy = new Hole(node.start, node.end);
+		copy.largest = node.largest;
+		copy.left = copy(node.left);
+		copy.right = copy(node.right);
+		return copy;
+	}
+
+	/**
+	 * Scrambles an address into a priority.
+	 */
+	private static int mix(int address) {
+		int hash = address * 0x9E3779B9;
+		hash ^= hash >>> 16;
+		hash *= 0x85EBCA6B;
+		return hash ^ (hash >>> 13);
+	}
+}
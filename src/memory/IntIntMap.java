@@ -0,0 +1,175 @@
+package src.memory;
+
+/**
+ * <p>The <code>IntIntMap</code> class maps <code>int</code> keys to
+ * <code>int</code> values without boxing either of them, so that adding or
+ * removing an entry allocates nothing until the map has to grow.
+ *
+ * <p>Entries are kept in parallel arrays with open addressing and linear
+ * probing. A removed entry is filled by shifting back the entries that probed
+ * past it, so no tombstones are left behind and lookups stay short however
+ * many entries come and go.
+ *
+ * @author Richard I. Zhunio
+ * @see MemorySlot
+ * @see MemoryAllocator
+ */
+class IntIntMap {
+	/** Returned by {@link #get} and {@link #remove} for a missing key */
+	static final int MISSING = -1;
+
+	/** Key of each entry */
+	private int[] keys;
+
+	/** Value of each entry */
+	private int[] values;
+
+	/** True where an entry is stored */
+	private boolean[] used;
+
+	/** Number of entries */
+	private int size;
+
+	/**
+	 * Creates a new empty <code>IntIntMap</code> with room for the given
+	 * number of entries.
+	 *
+	 * @param capacity the number of entries to make room for.
+	 */
+	IntIntMap(int capacity) {
+		// Keep the table at most half full
+		int length = Integer.highestOneBit(Math.max(4, 2 * capacity - 1)) << 1;
+		keys = new int[length];
+		values = new int[length];
+		used = new boolean[length];
+	}
+
+	/**
+	 * Retrieves the number of entries.
+	 * @return the number of entries.
+	 */
+	int size() {
+		return size;
+	}
+
+	/**
+	 * Tells whether a key has an entry.
+	 *
+	 * @param key the key.
+	 * @return true if the key has an entry.
+	 */
+	boolean containsKey(int key) {
+		return used[find(key)];
+	}
+
+	/**
+	 * Retrieves the value of a key. Values must not be {@link #MISSING} for
+	 * this to tell a missing key apart.
+	 *
+	 * @param key the key.
+	 * @return the value, or {@link #MISSING} if the key has no entry.
+	 */
+	int get(int key) {
+		int slot = find(key);
+		return used[slot] ? values[slot] : MISSING;
+	}
+
+	/**
+	 * Sets the value of a key, replacing its previous value.
+	 *
+	 * @param key   the key.
+	 * @param value the value.
+	 */
+	void put(int key, int value) {
+		int slot = find(key);
+		if (!used[slot]) {
+			// Grow before the table is more than half full
+			if (2 * (size + 1) > keys.length) {
+				grow();
+				slot = find(key);
+			}
+			used[slot] = true;
+			keys[slot] = key;
+			size++;
+		}
+		values[slot] = value;
+	}
+
+	/**
+	 * Removes the entry of a key.
+	 *
+	 * @param key the key.
+	 * @return the value of the key, or {@link #MISSING} if it had no entry.
+	 */
+	int remove(int key) {
+		int slot = find(key);
+		if (!used[slot]) return MISSING;
+		int value = values[slot];
+		size--;
+
+		// Shift back the entries that probed past the removed one
+		int mask = keys.length - 1;
+		int gap = slot;
+		for (int next = (gap + 1) & mask; used[next]; next = (next + 1) & mask) {
+			int home = hash(keys[next]) & mask;
+			if (((next - home) & mask) >= ((next - gap) & mask)) {
+				keys[gap] = keys[next];
+				values[gap] = values[next];
+				gap = next;
+			}
+		}
+		used[gap] = false;
+		return value;
+	}
+
+	/**
+	 * Creates a copy of this map that shares no arrays with it.
+	 *
+	 * @return the copy.
+	 */
+	IntIntMap copy() {
+		IntIntMap copy = new IntIntMap(0);
+		copy.keys = keys.clone();
+		copy.values = values.clone();
+		copy.used = used.clone();
+		copy.size = size;
+		return copy;
+	}
+
+	/**
+	 * Finds the slot of a key, or the empty slot where it would go.
+	 */
+	private int find(int key) {
+		int mask = keys.length - 1;
+		int slot = hash(key) & mask;
+		while (used[slot] && keys[slot] != key) slot = (slot + 1) & mask;
+		return slot;
+	}
+
+	/**
+	 * Doubles the table and puts every entry back.
+	 */
+	private void grow() {
+		int[] oldKeys = keys;
+		int[] oldValues = values;
+		boolean[] oldUsed = used;
+		keys = new int[2 * oldKeys.length];
+		values = new int[keys.length];
+		used = new boolean[keys.length];
+		for (int slot = 0; slot < oldKeys.length; slot++) {
+			if (!oldUsed[slot]) continue;
+			int target = find(oldKeys[slot]);
+			used[target] = true;
+			keys[target] = oldKeys[slot];
+			values[target] = oldValues[slot];
+		}
+	}
+
+	/**
+	 * Scrambles a key, so that consecutive ids spread over the table.
+	 */
+	private static int hash(int key) {
+		int hash = key * 0x9E3779B9;
+		return hash ^ (hash >>> 16);
+	}
+}
@@ -8,9 +8,12 @@ import src.parser.ProcessParser;
 
 // Java SDK Libraries
 import java.io.FileNotFoundException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.ListIterator;
 
 /**
  * <p>The <code>MemoryAllocator</code> class serves as a skeleton for implementing
@@ -19,10 +22,12 @@ import java.util.ListIterator;
  *
  * <p>The <code>MemoryAllocator</code> class SHOULD NOT be instantiated. Instead,
  * it should be extended. The class that extends the <code>MemoryAllocator</code>
- * should obey the signature of the {@link #MemoryAllocator} constructor. The
+ * should obey the signatures of the {@link #MemoryAllocator(String, String)} and
+ * {@link #MemoryAllocator(Workload)} constructors. The
  * {@link #run} method contains a valid implementation and must not be overwritten.
  * However, the {@link #run} method should be the only method called after
- * instantiating this class. The {@link #allocateSlot} method contains no implementation
+ * instantiating this class, apart from {@link #allocate} and {@link #free} to
+ * allocate and free single processes. The {@link #allocateSlot} method contains no implementation
  * and must be implemented by the extending class. If extending class fails to
  * implement the {@link #allocateSlot} method, the run method will throw a
  * <code>UnsupportedOperationException</code>.
@@ -34,21 +39,59 @@ import java.util.ListIterator;
  * and then return the <code>MemorySlot</code> that was allocated to the process.
  * If the {@link #allocateSlot} method is not able to allocate a process, then
  * null is returned. However, this is handle properly by the {@link #run} method.
+ * The <code>Process</code> given to {@link #allocateSlot} is reused by the
+ * {@link #run} method for the next process, so it must not be kept.
  *
  * @author Richard I. Zhunio
  * @see src.algorithm.FF
+ * @see src.algorithm.NF
  * @see src.algorithm.BF
  * @see src.algorithm.WF
+ * @see src.algorithm.Buddy
+ * @see src.algorithm.TLSF
+ * @see src.algorithm.FFD
+ * @see src.algorithm.BFD
  * @see MemorySlot
  * @see Process
+ * @see ProcessTable
+ * @see Workload
+ * @see ResultSink
+ * @see AllocationMetrics
+ * @see TraceReplay
+ * @see RelocationListener
+ * @see Allocation
  * @see UnsupportedOperationException
  */
 public class MemoryAllocator {
 	/** List of memory slots */
-	protected LinkedList<MemorySlot> mList;
+	protected ArrayList<MemorySlot> mList;
 
-	/** List of processes */
-	protected LinkedList<Process> pList;
+	/** Table of processes */
+	protected ProcessTable pList;
+
+	/** Position of the memory slot of each allocated process id, built on first free */
+	private IntIntMap owners;
+
+	/** Position of each memory slot in mList, built with owners */
+	private IdentityHashMap<MemorySlot, Integer> positions;
+
+	/** Metrics of this memory allocation method, null when not recorded */
+	private AllocationMetrics metrics;
+
+	/** Search steps taken by the current allocation */
+	private long probes;
+
+	/** Moves processes to make room, null when compaction is off */
+	private Compactor compactor;
+
+	/** Processes waiting for space, null when processes do not wait */
+	private WaitQueue waiting;
+
+	/** Receives the waiting processes once they are allocated */
+	private ResultSink waitingSink;
+
+	/** Owner of each allocated address, built on first query */
+	private OwnerIndex ownerIndex;
 
 	/**
 	 * Creates a new <code>MemoryAllocator</code>.
@@ -67,6 +110,17 @@ public class MemoryAllocator {
 		pList = new ProcessParser(processInput).parse();
 	}
 
+	/**
+	 * Creates a new <code>MemoryAllocator</code> with its own copy of the
+	 * memory slots and processes of an already parsed workload.
+	 *
+	 * @param workload the memory slots and processes to allocate.
+	 */
+	protected MemoryAllocator(Workload workload) {
+		mList = workload.slots();
+		pList = workload.processes();
+	}
+
 	/**
 	 * Runs the memory allocation method, and returns a list containing
 	 * the the memory slots allocated and their corresponding processes.
@@ -76,38 +130,428 @@ public class MemoryAllocator {
 		// Contains the steps of this memory allocation method
 		List<String> logger = new LinkedList<>();
 
-		// Retrieve list iterator from process list
-		ListIterator<Process> iter = pList.listIterator();
+		run(new ResultSink() {
+			@Override
+			public void allocated(int start, int end, int id) {
+				logger.add(start + " " + end + " " + id);
+			}
+
+			@Override
+			public void unallocated(int id) {
+				logger.add("-" + id);
+			}
+		});
+
+		return logger;
+	}
 
-		// For each process in process list
-		while (iter.hasNext()) {
+	/**
+	 * Runs the memory allocation method, and gives each memory slot allocated
+	 * and its corresponding process to <code>sink</code> as soon as the
+	 * process is allocated. Processes that could not be allocated are given
+	 * to <code>sink</code> at the end.
+	 * @param sink receives the memory slots and their corresponding allocated
+	 *             process.
+	 */
+	public void run(ResultSink sink) {
+		// Process handed to allocateSlot, reused for every entry in the table
+		Process process = new Process(0, 0);
+
+		// Order in which the processes are allocated, null for table order
+		int[] order = processOrder();
+
+		// Processes that could not be allocated, by index in the table
+		BitSet unallocated = new BitSet(pList.size());
+
+		// For each process in process table
+		for (int next = 0; next < pList.size(); next++) {
 			// Retrieve process
-			Process process = iter.next();
+			int index = order == null ? next : order[next];
+			process.id = pList.getId(index);
+			process.size = pList.getSize(index);
 
 			// Allocate memory slot to process
 			// Allocation of slot depends on specific algorithm
 			// Implement allocateSlot method when extending this class
-			MemorySlot slot = allocateSlot(process);
+			MemorySlot slot = allocate(process);
 
 			if (slot != null) {
 				// Log algorithm used only if slot is not null
-				logger.add(slot.startMarker + " " + slot.endMarker + " " + process.id);
-
-				// Remove current process from process list
-				iter.remove();
+				sink.allocated(slot.startMarker, slot.endMarker, process.id);
 			}
+			// Keep current process in process table
+			else unallocated.set(index);
 		}
 
+		// Remove allocated processes from process table, keeping table order
+		int remaining = 0;
+		for (int index = unallocated.nextSetBit(0); index >= 0;
+			 index = unallocated.nextSetBit(index + 1))
+			pList.set(remaining++, pList.getId(index), pList.getSize(index));
+		pList.truncate(remaining);
+
 		// If some processes have not been allocated
 		if (!pList.isEmpty()) {
 			// Log any processes
-			for (Process process : pList)
-				logger.add("-" + process.id);
+			for (int index = 0; index < pList.size(); index++)
+				sink.unallocated(pList.getId(index));
 		}
 		// If all processes have been allocated
-		else logger.add("-0");
+		else sink.unallocated(0);
 
-		return logger;
+		// Measure the free space left behind
+		measure();
+	}
+
+	/**
+	 * Measures the fragmentation of the free space into the metrics, if
+	 * metrics are being recorded.
+	 */
+	void measure() {
+		if (metrics != null) metrics.measure(mList);
+	}
+
+	/**
+	 * Records the metrics of every allocation made from now on into
+	 * <code>metrics</code>. Metrics are not recorded by default.
+	 *
+	 * @param metrics the metrics to record into, or null to stop recording.
+	 */
+	public void setMetrics(AllocationMetrics metrics) {
+		this.metrics = metrics;
+	}
+
+	/**
+	 * Turns on compaction. From now on, when a process does not fit in any
+	 * hole but the free space of every memory slot is enough in total,
+	 * allocated processes are moved to make a big enough hole, and the
+	 * process is tried again. Compaction is off by default.
+	 *
+	 * <p>Only addresses move, no bytes are copied, so compaction cannot be
+	 * turned on for a method that backs its memory slots with real memory,
+	 * such as an {@link OffHeapArena}.
+	 *
+	 * @param listener told about every process moved, or null.
+	 * @throws UnsupportedOperationException if this memory allocation method
+	 *                                       cannot move processes.
+	 */
+	public void setCompaction(RelocationListener listener) {
+		if (!canCompact())
+			throw new UnsupportedOperationException(
+				"This memory allocation method cannot move processes.");
+		// Keep the owner index up to date before telling the listener
+		compactor = new Compactor(mList, (id, from, to, size) -> {
+			if (ownerIndex != null) ownerIndex.move(id, to, size);
+			if (listener != null) listener.relocated(id, from, to, size);
+		});
+	}
+
+	/**
+	 * Tests whether compaction has been turned on with {@link #setCompaction}.
+	 *
+	 * @return true if processes may be moved to make room.
+	 */
+	public boolean isCompacting() {
+		return compactor != null;
+	}
+
+	/**
+	 * Tests whether this memory allocation method allows processes to be
+	 * moved by compaction. Extending classes that keep their own record of
+	 * where processes are, instead of listening to the holes of the memory
+	 * slots, should override this method to return false.
+	 *
+	 * @return true if compaction can be turned on.
+	 */
+	public boolean canCompact() {
+		return true;
+	}
+
+	/**
+	 * Retrieves the number of processes moved by compaction so far.
+	 *
+	 * @return the number of processes moved.
+	 */
+	public long relocations() {
+		return compactor == null ? 0 : compactor.moves();
+	}
+
+	/**
+	 * Retrieves the number of bytes copied by compaction so far.
+	 *
+	 * @return the number of bytes copied.
+	 */
+	public long bytesRelocated() {
+		return compactor == null ? 0 : compactor.bytesMoved();
+	}
+
+	/**
+	 * Turns on the wait queue. From now on, a process that cannot be
+	 * allocated by {@link #allocate} waits in a queue indexed by size, and is
+	 * allocated as soon as enough space is freed by {@link #free}. Freeing a
+	 * waiting process removes it from the queue. Processes do not wait by
+	 * default.
+	 *
+	 * @param sink receives each waiting process once it is allocated.
+	 */
+	public void setWaitQueue(ResultSink sink) {
+		waiting = new WaitQueue();
+		waitingSink = sink;
+	}
+
+	/**
+	 * Retrieves the number of processes waiting for space.
+	 *
+	 * @return the number of processes in the wait queue.
+	 */
+	public int waiting() {
+		return waiting == null ? 0 : waiting.size();
+	}
+
+	/**
+	 * Finds the process that owns an address.
+	 *
+	 * @param address the address.
+	 * @return the allocation of the process that owns the address, or null
+	 * if the address is not allocated.
+	 */
+	public Allocation ownerOf(int address) {
+		return ownerIndex().at(address);
+	}
+
+	/**
+	 * Finds every process that owns an address from <code>from</code> up to
+	 * but not including <code>to</code>. Processes without a size own no
+	 * address and are never found.
+	 *
+	 * @param from the first address of the range.
+	 * @param to   the address right after the range.
+	 * @return the allocations of the processes found, by starting address.
+	 */
+	public List<Allocation> allocationsIn(int from, int to) {
+		return ownerIndex().in(from, to);
+	}
+
+	/**
+	 * Retrieves the owner index, building it from the memory slots the first
+	 * time it is needed.
+	 */
+	private OwnerIndex ownerIndex() {
+		if (ownerIndex == null) ownerIndex = new OwnerIndex(mList);
+		return ownerIndex;
+	}
+
+	/**
+	 * Counts search steps taken by the current allocation, such as memory
+	 * slots or index nodes visited. Extending classes call this method from
+	 * {@link #allocateSlot} so that {@link AllocationMetrics} can report them.
+	 *
+	 * @param count the number of search steps taken.
+	 */
+	protected final void probe(long count) {
+		probes += count;
+	}
+
+	/**
+	 * Runs the memory allocation method on processes that arrive one at a
+	 * time, instead of on the process table. Each process is allocated as
+	 * soon as it arrives, and given to <code>sink</code> right away, whether
+	 * it was allocated or not. If every process was allocated,
+	 * {@link ResultSink#unallocated} is called once with id 0 at the end.
+	 * Nothing is kept per process, so memory use does not grow with the
+	 * number of processes.
+	 *
+	 * @param processes the processes to allocate, in order of arrival. The
+	 *                  same <code>Process</code> may be returned every time.
+	 * @param sink      receives the memory slots and their corresponding
+	 *                  allocated process.
+	 * @throws UnsupportedOperationException if this memory allocation method
+	 *                                       needs every process up front.
+	 */
+	public void run(Iterator<Process> processes, ResultSink sink) {
+		if (!canStream())
+			throw new UnsupportedOperationException(
+				"This memory allocation method needs every process up front.");
+
+		// True while every process has been allocated
+		boolean allAllocated = true;
+
+		while (processes.hasNext()) {
+			Process process = processes.next();
+
+			// Log allocated or unallocated process right away
+			MemorySlot slot = allocate(process);
+			if (slot != null) sink.allocated(slot.startMarker, slot.endMarker, process.id);
+			else {
+				sink.unallocated(process.id);
+				allAllocated = false;
+			}
+		}
+
+		// If all processes have been allocated
+		if (allAllocated) sink.unallocated(0);
+
+		// Measure the free space left behind
+		measure();
+	}
+
+	/**
+	 * Tests whether this memory allocation method can allocate processes as
+	 * they arrive, with {@link #run(Iterator, ResultSink)}. Batch memory
+	 * allocation methods that override {@link #processOrder} should override
+	 * this method to return false.
+	 *
+	 * @return true if processes can be streamed.
+	 */
+	public boolean canStream() {
+		return true;
+	}
+
+	/**
+	 * Retrieves the order in which {@link #run} allocates the processes. By
+	 * default, processes are allocated in the order of the process table.
+	 * Batch memory allocation methods may override this method to allocate
+	 * the processes in another order. Processes that could not be allocated
+	 * are still logged in the order of the process table.
+	 *
+	 * @return the indexes of the processes in the process table, in the order
+	 * they are allocated, or null to use the order of the process table.
+	 */
+	protected int[] processOrder() {
+		return null;
+	}
+
+	/**
+	 * Allocates a <code>Process</code> using {@link #allocateSlot}, and
+	 * remembers the <code>MemorySlot</code> it was allocated to so it can be
+	 * freed later with {@link #free}. If the wait queue is on and the
+	 * <code>Process</code> cannot be allocated, it waits in the queue.
+	 *
+	 * @param process the <code>Process</code> to allocate.
+	 * @return the <code>MemorySlot</code> that allocates the <code>Process</code>, otherwise
+	 * null is returned.
+	 */
+	public MemorySlot allocate(Process process) {
+		MemorySlot slot = place(process);
+		if (slot == null && waiting != null) waiting.add(process.id, process.size);
+		return slot;
+	}
+
+	/**
+	 * Allocates a <code>Process</code> using {@link #allocateSlot}, making
+	 * room by compaction if it is on, and records its metrics.
+	 */
+	private MemorySlot place(Process process) {
+		// Time the allocation only when recording metrics
+		long started = metrics == null ? 0 : System.nanoTime();
+		probes = 0;
+
+		MemorySlot slot = allocateSlot(process);
+
+		// Make room by moving processes, and try again
+		if (slot == null && compactor != null
+			&& compactor.makeRoom(process.size, owners))
+			slot = allocateSlot(process);
+		if (slot != null && compactor != null) compactor.changed(-process.size);
+
+		if (metrics != null)
+			metrics.record(System.nanoTime() - started, probes, slot != null);
+
+		// Remember the owner once processes are being freed
+		if (slot != null && owners != null) owners.put(process.id, positions.get(slot));
+		if (slot != null && ownerIndex != null)
+			ownerIndex.add(process.id, slot.startMarker, slot.endMarker);
+
+		return slot;
+	}
+
+	/**
+	 * Frees an allocated <code>Process</code>, returning its space to the
+	 * <code>MemorySlot</code> it was allocated to. The space is merged with
+	 * the free space right before and right after it, and can be allocated
+	 * again by any memory allocation method.
+	 *
+	 * @param processId the id of the <code>Process</code> to free.
+	 * @return true if the <code>Process</code> was allocated and has been freed.
+	 */
+	public boolean free(int processId) {
+		// A waiting process leaves the queue
+		if (waiting != null && waiting.remove(processId)) return true;
+
+		int position = owners().remove(processId);
+		if (position == IntIntMap.MISSING) return false;
+		MemorySlot slot = mList.get(position);
+		if (ownerIndex != null) ownerIndex.remove(processId);
+
+		// Keep track of the free space for compaction
+		long freeSpace = slot.freeSpace();
+		boolean freed = freeSlot(slot, processId);
+		if (compactor != null) compactor.changed(slot.freeSpace() - freeSpace);
+
+		// Only the memory slot just freed has more room for waiting processes
+		if (freed && waiting != null) retryWaiting(slot);
+		return freed;
+	}
+
+	/**
+	 * Tells whether a <code>Process</code> is allocated, so that it can be
+	 * freed with {@link #free}. Waiting processes are not allocated.
+	 *
+	 * @param processId the id of the <code>Process</code>.
+	 * @return true if the <code>Process</code> is allocated.
+	 */
+	public boolean isAllocated(int processId) {
+		return owners().containsKey(processId);
+	}
+
+	/**
+	 * Retrieves the position of the memory slot of each allocated process,
+	 * finding the owner of every allocated process the first time it is
+	 * needed.
+	 */
+	private IntIntMap owners() {
+		if (owners == null) {
+			owners = new IntIntMap(0);
+			positions = new IdentityHashMap<>(mList.size());
+			for (int position = 0; position < mList.size(); position++) {
+				MemorySlot slot = mList.get(position);
+				positions.put(slot, position);
+				for (int index = 0; index < slot.processCount(); index++)
+					owners.put(slot.processId(index), position);
+			}
+		}
+		return owners;
+	}
+
+	/**
+	 * Allocates the waiting processes that fit in the largest hole of a
+	 * memory slot, smallest first, until one does not fit.
+	 *
+	 * @param slot the memory slot that has gained space.
+	 */
+	private void retryWaiting(MemorySlot slot) {
+		Process process = new Process(0, 0);
+		while (waiting.smallest(slot.spaceAvailable(), process)) {
+			MemorySlot placed = place(process);
+			if (placed == null) return;
+
+			waiting.remove(process.id);
+			if (waitingSink != null)
+				waitingSink.allocated(placed.startMarker, placed.endMarker, process.id);
+		}
+	}
+
+	/**
+	 * Frees a <code>Process</code> from the <code>MemorySlot</code> it was
+	 * allocated to. Extending classes that keep their own record of the free
+	 * space should override this method to update it, and then call it.
+	 *
+	 * @param slot      the <code>MemorySlot</code> that allocates the process.
+	 * @param processId the id of the <code>Process</code> to free.
+	 * @return true if the <code>Process</code> has been freed.
+	 */
+	protected boolean freeSlot(MemorySlot slot, int processId) {
+		return slot.free(processId);
 	}
 
 	/**
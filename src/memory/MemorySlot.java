@@ -1,6 +1,6 @@
 package src.memory;
 
-import java.util.LinkedList;
+import java.util.Arrays;
 /**
  * <p>The <code>MemorySlot</code> class represents a memory slot read from the
  * Minput.data file.
@@ -12,10 +12,24 @@ import java.util.LinkedList;
  * slot. The <code>startMarker</code> gives the starting address of the last
  * process added to this memory slot. The <code>endMarker</code> gives the
  * ending address of the last process added to this memory slot. The list of
- * processes contains a list of processes allocated to this memory slot.
+ * processes contains a list of processes allocated to this memory slot. It is
+ * kept as parallel <code>int</code> arrays with the id, starting address and
+ * size of each process, so no <code>Process</code> object is kept by a memory
+ * slot.
+ *
+ * <p>Processes can be freed with {@link #free}, which leaves holes of free
+ * space inside this memory slot. Until the first process is freed, the only
+ * free space is the one after <code>endMarker</code>, and processes are
+ * simply added there. After that, the holes are kept in an address-ordered
+ * tree that also knows the largest hole below each node, and a freed process
+ * is merged with the holes right before and right after it. The
+ * {@link #spaceAvailable} method returns the size of the largest hole, and
+ * the lowest hole that is big enough for a process is found in logarithmic
+ * time.
  *
  * @author Richard I. Zhunio
  * @see Process
+ * @see HoleListener
  */
 public class MemorySlot implements Cloneable {
 	/** The starting address of this memory slot */
@@ -30,8 +44,29 @@ public class MemorySlot implements Cloneable {
 	/** The ending address of the last process added to this memory slot */
 	public int endMarker;
 
-	/** List of processes inside this memory slot */
-	public LinkedList<Process> processList;
+	/** Ids of the processes inside this memory slot */
+	private int[] processIds;
+
+	/** Starting addresses of the processes inside this memory slot */
+	private int[] processStarts;
+
+	/** Sizes of the processes inside this memory slot */
+	private int[] processSizes;
+
+	/** Number of processes inside this memory slot */
+	private int processCount;
+
+	/** Index of each process id in the process arrays, built on first free */
+	private IntIntMap processIndex;
+
+	/** Holes by starting address, null until first free */
+	private HoleTree holes;
+
+	/** Total size of the holes, once holes are used */
+	private long holeSpace;
+
+	/** Told whenever a hole appears or disappears */
+	private HoleListener listener;
 
 	/**
 	 * Creates a new empty memory slot with a starting and ending address.
@@ -42,15 +77,64 @@ public class MemorySlot implements Cloneable {
 		this.start = start;
 		this.end = end;
 		this.startMarker = this.endMarker = start;
-		this.processList = new LinkedList<>();
+		this.processIds = this.processStarts = this.processSizes = new int[0];
 	}
 
 	/**
-	 * Retrieves the space available in this memory slot.
+	 * Retrieves the space available in this memory slot, which is the size of
+	 * the largest hole.
 	 * @return space available in this memory slot.
 	 */
 	public int spaceAvailable() {
-		return end - endMarker;
+		if (holes == null) return end - endMarker;
+		return holes.largest();
+	}
+
+	/**
+	 * Retrieves the free space in this memory slot, which is the total size
+	 * of every hole.
+	 * @return free space in this memory slot.
+	 */
+	public long freeSpace() {
+		if (holes == null) return end - endMarker;
+		return holeSpace;
+	}
+
+	/**
+	 * Retrieves the starting address of this memory slot.
+	 * @return the starting address of this memory slot.
+	 */
+	public int getStart() {
+		return start;
+	}
+
+	/**
+	 * Retrieves the ending address of this memory slot.
+	 * @return the ending address of this memory slot.
+	 */
+	public int getEnd() {
+		return end;
+	}
+
+	/**
+	 * Retrieves the number of holes visited by {@link #add(Process)} since
+	 * the last call to this method, so that the search can be counted as
+	 * search steps of the memory allocation method.
+	 * @return the number of holes visited.
+	 */
+	public long visits() {
+		return holes == null ? 0 : holes.visits();
+	}
+
+	/**
+	 * Finds the hole with the lowest starting address at or after the given
+	 * address, so that the holes can be walked in address order.
+	 * @param address the address.
+	 * @return the hole, or null if there is none or no process has been
+	 * freed yet.
+	 */
+	HoleTree.Hole holeAfter(int address) {
+		return holes == null ? null : holes.ceiling(address);
 	}
 
 	/**
@@ -66,27 +150,276 @@ public class MemorySlot implements Cloneable {
 	}
 
 	/**
-	 * Add process to this algorithm slot.
+	 * Sets the listener told whenever a hole of this memory slot appears or
+	 * disappears. The listener is told right away about every current hole.
+	 * @param listener the listener, or null to remove it.
+	 */
+	public void setHoleListener(HoleListener listener) {
+		this.listener = listener;
+		if (listener == null) return;
+
+		// Announce the current holes
+		if (holes == null) {
+			if (endMarker < end) listener.holeAdded(endMarker, end);
+		}
+		else holes.forEach(listener);
+	}
+
+	/**
+	 * Add process to this algorithm slot, in the hole with the lowest address
+	 * that is big enough. Only the id and size of the process are kept, so the
+	 * process may be reused by the caller.
 	 * @param process the process to add to the algorithm slot.
 	 */
 	public void add(Process process) {
+		// Before the first free, processes go after the last one
+		if (holes == null) {
+			add(process, endMarker);
+			return;
+		}
+
+		// Find the first hole that is big enough
+		HoleTree.Hole hole = holes.firstFit(process.size);
+		if (hole != null) {
+			add(process, hole.start);
+			return;
+		}
+
+		// Processes without a size take no space
+		if (process.size == 0) add(process, end);
+		else throw new IllegalStateException("Process " + process.id
+			+ " does not fit in memory slot " + this);
+	}
+
+	/**
+	 * Add process to this algorithm slot at the given address. The process
+	 * must fit inside a single hole.
+	 * @param process the process to add to the algorithm slot.
+	 * @param address the starting address of the process.
+	 */
+	public void add(Process process, int address) {
+		int processEnd = address + process.size;
+
+		// Before the first free, the process may go right after the last one
+		boolean tail = holes == null && address == endMarker;
+		if (!tail) {
+			useHoles();
+
+			// Find the hole holding the process
+			HoleTree.Hole hole = holes.floor(address);
+			if (process.size > 0) {
+				if (hole == null || processEnd > hole.end)
+					throw new IllegalArgumentException("Process " + process.id
+						+ " does not fit at address " + address);
+
+				// Keep the parts of the hole on each side of the process
+				removeHole(hole.start, hole.end);
+				if (hole.start < address) addHole(hole.start, address);
+				if (processEnd < hole.end) addHole(processEnd, hole.end);
+			}
+		}
+
 		// Update markers
-		startMarker = endMarker;
-		endMarker += process.size;
+		int previousEnd = endMarker;
+		startMarker = address;
+		endMarker = processEnd;
+		if (tail) moveTail(previousEnd);
 
 		// Add process
-		processList.add(process);
+		record(process.id, address, process.size);
+	}
+
+	/**
+	 * Moves a process of this memory slot to another address of this memory
+	 * slot. The process must fit inside a single hole once its own space has
+	 * been freed.
+	 * @param processId the id of the process to move.
+	 * @param address the new starting address of the process.
+	 * @return the size of the process.
+	 * @throws IllegalArgumentException if the process is not inside this
+	 *                                  memory slot or does not fit at the
+	 *                                  address.
+	 */
+	public int move(int processId, int address) {
+		// Find the process
+		if (processIndex == null) indexProcesses();
+		int index = processIndex.get(processId);
+		if (index == IntIntMap.MISSING)
+			throw new IllegalArgumentException("Process " + processId
+				+ " is not in memory slot " + this);
+
+		// Free its space and add it again at the new address
+		int size = processSizes[index];
+		free(processId);
+		add(new Process(processId, size), address);
+		return size;
+	}
+
+	/**
+	 * Frees the process with the given id, turning its space into a hole that
+	 * is merged with the holes right before and right after it.
+	 * @param processId the id of the process to free.
+	 * @return true if the process was inside this memory slot.
+	 */
+	public boolean free(int processId) {
+		// Find the process
+		if (processIndex == null) indexProcesses();
+		int index = processIndex.remove(processId);
+		if (index == IntIntMap.MISSING) return false;
+
+		int from = processStarts[index];
+		int to = from + processSizes[index];
+
+		// Remove the process, moving the last process into its place
+		processCount--;
+		if (index < processCount) {
+			processIds[index] = processIds[processCount];
+			processStarts[index] = processStarts[processCount];
+			processSizes[index] = processSizes[processCount];
+			processIndex.put(processIds[index], index);
+		}
+
+		// Processes without a size leave no hole
+		if (from == to) return true;
+		useHoles();
+
+		// Merge with the hole right before
+		HoleTree.Hole before = holes.floor(from);
+		if (before != null && before.end == from) {
+			removeHole(before.start, from);
+			from = before.start;
+		}
+
+		// Merge with the hole right after
+		HoleTree.Hole after = holes.get(to);
+		if (after != null) {
+			removeHole(to, after.end);
+			to = after.end;
+		}
+
+		addHole(from, to);
+		return true;
+	}
+
+	/**
+	 * Retrieves the number of processes inside this memory slot.
+	 * @return the number of processes inside this memory slot.
+	 */
+	public int processCount() {
+		return processCount;
+	}
+
+	/**
+	 * Retrieves the id of a process inside this memory slot.
+	 * @param index the index of the process, from 0 to processCount() - 1.
+	 * @return the id of the process.
+	 */
+	public int processId(int index) {
+		return processIds[index];
+	}
+
+	/**
+	 * Retrieves the starting address of a process inside this memory slot.
+	 * @param index the index of the process, from 0 to processCount() - 1.
+	 * @return the starting address of the process.
+	 */
+	public int processStart(int index) {
+		return processStarts[index];
+	}
+
+	/**
+	 * Retrieves the size of a process inside this memory slot.
+	 * @param index the index of the process, from 0 to processCount() - 1.
+	 * @return the size of the process.
+	 */
+	public int processSize(int index) {
+		return processSizes[index];
 	}
 
 	@Override
-	@SuppressWarnings("unchecked")
 	public Object clone() throws CloneNotSupportedException {
 		MemorySlot newMemorySlot = (MemorySlot) super.clone();
 		newMemorySlot.start = start;
 		newMemorySlot.end = end;
 		newMemorySlot.startMarker = startMarker;
 		newMemorySlot.endMarker = endMarker;
-		newMemorySlot.processList = (LinkedList<Process>) processList.clone();
+		newMemorySlot.processIds = processIds.clone();
+		newMemorySlot.processStarts = processStarts.clone();
+		newMemorySlot.processSizes = processSizes.clone();
+		newMemorySlot.processCount = processCount;
+		if (processIndex != null)
+			newMemorySlot.processIndex = processIndex.copy();
+		if (holes != null) {
+			newMemorySlot.holes = holes.copy();
+			newMemorySlot.holeSpace = holeSpace;
+		}
+		newMemorySlot.listener = null;
 		return newMemorySlot;
 	}
+
+	/**
+	 * Records a process in the process arrays.
+	 */
+	private void record(int processId, int address, int size) {
+		// Grow the process arrays when they are full
+		if (processCount == processIds.length) {
+			int capacity = Math.max(2 * processCount, 4);
+			processIds = Arrays.copyOf(processIds, capacity);
+			processStarts = Arrays.copyOf(processStarts, capacity);
+			processSizes = Arrays.copyOf(processSizes, capacity);
+		}
+
+		if (processIndex != null) processIndex.put(processId, processCount);
+		processIds[processCount] = processId;
+		processStarts[processCount] = address;
+		processSizes[processCount++] = size;
+	}
+
+	/**
+	 * Builds the index of process ids, the first time a process is freed.
+	 */
+	private void indexProcesses() {
+		processIndex = new IntIntMap(processCount);
+		for (int index = 0; index < processCount; index++)
+			processIndex.put(processIds[index], index);
+	}
+
+	/**
+	 * Tells the listener that the only hole before the first free, the space
+	 * after the last process, now starts at <code>endMarker</code> instead of
+	 * at <code>previousEnd</code>.
+	 */
+	private void moveTail(int previousEnd) {
+		if (listener != null) {
+			if (previousEnd < end) listener.holeRemoved(previousEnd, end);
+			if (endMarker < end) listener.holeAdded(endMarker, end);
+		}
+	}
+
+	/**
+	 * Switches to the address-ordered tree of holes, the first time it is
+	 * needed. The space after <code>endMarker</code> becomes the first hole.
+	 */
+	private void useHoles() {
+		if (holes != null) return;
+		holes = new HoleTree();
+
+		// The listener already knows about this hole
+		if (endMarker < end) {
+			holes.add(endMarker, end);
+			holeSpace = end - endMarker;
+		}
+	}
+
+	private void addHole(int from, int to) {
+		holes.add(from, to);
+		holeSpace += to - from;
+		if (listener != null) listener.holeAdded(from, to);
+	}
+
+	private void removeHole(int from, int to) {
+		holes.remove(from);
+		holeSpace -= to - from;
+		if (listener != null) listener.holeRemoved(from, to);
+	}
 }
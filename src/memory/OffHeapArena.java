@@ -0,0 +1,142 @@
+package src.memory;
+
+// Java SDK Libraries
+import java.nio.ByteBuffer;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * <p>The <code>OffHeapArena</code> class backs the memory slots of a memory
+ * allocation method with real memory, so the method can be used as a buffer
+ * pool instead of only as a simulator. Each memory slot is backed by a direct
+ * <code>ByteBuffer</code> as long as the slot, outside of the Java heap. An
+ * address <code>a</code> of a memory slot starting at <code>start</code> is
+ * byte <code>a - start</code> of its buffer.
+ *
+ * <p>{@link #allocate} places a process with the memory allocation method,
+ * and returns a slice of the backing buffer over the exact range the process
+ * was given. The slice shares memory with the arena, so nothing is copied,
+ * and the buffer of a memory slot is created once, the first time a process
+ * is placed in it. After {@link #free}, the range may be handed out again, so
+ * the slice of a freed process must no longer be used.
+ *
+ * <p>Compaction moves the range of a process without copying its bytes,
+ * which would leave the slices already handed out pointing at memory of
+ * other processes. An <code>OffHeapArena</code> therefore refuses a memory
+ * allocation method with compaction on.
+ *
+ * <p>An <code>OffHeapArena</code> is not thread-safe, just like the memory
+ * allocation method it wraps.
+ *
+ * @author Richard I. Zhunio
+ * @see MemoryAllocator#allocate
+ * @see MemoryAllocator#free
+ */
+public class OffHeapArena {
+	/** Memory allocation method that places the processes */
+	private final MemoryAllocator allocator;
+
+	/** Backing buffer of each memory slot, created on first use */
+	private final Map<MemorySlot, ByteBuffer> buffers = new IdentityHashMap<>();
+
+	/** Process handed to the memory allocation method, reused every time */
+	private final Process process = new Process(0, 0);
+
+	/** Number of bytes of backing buffers created */
+	private long reserved;
+
+	/**
+	 * Creates a new <code>OffHeapArena</code> over the memory slots of a
+	 * memory allocation method.
+	 *
+	 * @param allocator the memory allocation method that places the processes.
+	 * @throws IllegalArgumentException if compaction is on for the memory
+	 *                                  allocation method.
+	 */
+	public OffHeapArena(MemoryAllocator allocator) {
+		if (allocator.isCompacting())
+			throw new IllegalArgumentException(
+				"Processes backed by an arena cannot be moved by compaction.");
+		this.allocator = allocator;
+	}
+
+	/**
+	 * Allocates a process and returns the memory it was given.
+	 *
+	 * @param processId   the id of the process.
+	 * @param processSize the size of the process in bytes.
+	 * @return a buffer over the memory of the process, with its position at 0
+	 * and its capacity equal to <code>processSize</code>, or null if the
+	 * process could not be allocated.
+	 * @throws IllegalStateException if the memory slot is too large to be
+	 *                               backed by a single buffer, in which case
+	 *                               the process is not allocated, or if
+	 *                               compaction has been turned on since the
+	 *                               arena was created.
+	 * @throws OutOfMemoryError      if the backing buffer cannot be created,
+	 *                               in which case the process is not
+	 *                               allocated.
+	 */
+	public ByteBuffer allocate(int processId, int processSize) {
+		// Compaction could move processes that already have a slice
+		if (allocator.isCompacting())
+			throw new IllegalStateException(
+				"Processes backed by an arena cannot be moved by compaction.");
+
+		process.id = processId;
+		process.size = processSize;
+
+		// Place the process, the slot markers hold its range afterwards
+		MemorySlot slot = allocator.allocate(process);
+		if (slot == null) return null;
+
+		// Give the range back if the slot cannot be backed
+		ByteBuffer buffer;
+		try {
+			buffer = buffer(slot);
+		} catch (RuntimeException | OutOfMemoryError e) {
+			allocator.free(processId);
+			throw e;
+		}
+
+		return buffer.slice(slot.startMarker - slot.getStart(), processSize);
+	}
+
+	/**
+	 * Frees a process, so that its memory can be allocated again.
+	 *
+	 * @param processId the id of the process.
+	 * @return true if the process was allocated and has been freed.
+	 */
+	public boolean free(int processId) {
+		return allocator.free(processId);
+	}
+
+	/**
+	 * Retrieves the number of bytes of backing buffers created so far.
+	 *
+	 * @return the number of bytes of off-heap memory reserved.
+	 */
+	public long reserved() {
+		return reserved;
+	}
+
+	/**
+	 * Retrieves the backing buffer of a memory slot, creating it if needed.
+	 */
+	private ByteBuffer buffer(MemorySlot slot) {
+		ByteBuffer buffer = buffers.get(slot);
+		if (buffer == null) {
+			// Error occurs if the slot does not fit in a single buffer
+			long length = (long) slot.getEnd() - slot.getStart();
+			if (length > Integer.MAX_VALUE)
+				throw new IllegalStateException("Memory slot too large to back: "
+					+ slot.getStart() + " " + slot.getEnd());
+
+			buffer = ByteBuffer.allocateDirect((int) length);
+			buffers.put(slot, buffer);
+			reserved += length;
+		}
+		return buffer;
+	}
+}
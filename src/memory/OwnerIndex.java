@@ -0,0 +1,101 @@
+package src.memory;
+
+// Java SDK Libraries
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * <p>The <code>OwnerIndex</code> class finds which process owns an address,
+ * and which processes are allocated in a range of addresses. Allocations are
+ * kept in a map ordered by starting address, so a point query takes
+ * O(log n) and a range query takes O(log n + k) for k allocations found.
+ *
+ * <p>Allocations never overlap, since processes never overlap inside a
+ * memory slot and memory slots do not overlap each other. Processes without
+ * a size own no address and are not indexed.
+ *
+ * @author Richard I. Zhunio
+ * @see MemoryAllocator#ownerOf
+ * @see MemoryAllocator#allocationsIn
+ */
+class OwnerIndex {
+	/** Allocations by starting address */
+	private final TreeMap<Integer, Allocation> byStart = new TreeMap<>();
+
+	/** Allocations by process id */
+	private final HashMap<Integer, Allocation> byId = new HashMap<>();
+
+	/**
+	 * Creates a new <code>OwnerIndex</code> over the processes already
+	 * allocated in the given memory slots.
+	 *
+	 * @param mList the list of memory slots.
+	 */
+	OwnerIndex(List<MemorySlot> mList) {
+		for (MemorySlot slot : mList)
+			for (int index = 0; index < slot.processCount(); index++)
+				add(slot.processId(index), slot.processStart(index),
+					slot.processStart(index) + slot.processSize(index));
+	}
+
+	/**
+	 * Records a process allocated from <code>start</code> to <code>end</code>.
+	 */
+	void add(int id, int start, int end) {
+		if (start == end) return;
+		Allocation allocation = new Allocation(id, start, end);
+		byStart.put(start, allocation);
+		byId.put(id, allocation);
+	}
+
+	/**
+	 * Forgets a process that has been freed.
+	 */
+	void remove(int id) {
+		Allocation allocation = byId.remove(id);
+		if (allocation != null) byStart.remove(allocation.start, allocation);
+	}
+
+	/**
+	 * Records that a process has moved to a new starting address.
+	 */
+	void move(int id, int to, int size) {
+		remove(id);
+		add(id, to, to + size);
+	}
+
+	/**
+	 * Finds the allocation that holds an address.
+	 *
+	 * @param address the address.
+	 * @return the allocation, or null if the address is free.
+	 */
+	Allocation at(int address) {
+		Map.Entry<Integer, Allocation> before = byStart.floorEntry(address);
+		return before != null && before.getValue().end > address
+			? before.getValue() : null;
+	}
+
+	/**
+	 * Finds every allocation that holds an address from <code>from</code>
+	 * up to but not including <code>to</code>.
+	 *
+	 * @param from the first address of the range.
+	 * @param to   the address right after the range.
+	 * @return the allocations, by starting address.
+	 */
+	List<Allocation> in(int from, int to) {
+		List<Allocation> found = new ArrayList<>();
+		if (from >= to) return found;
+
+		// An allocation that starts before the range may reach into it
+		Allocation first = at(from);
+		if (first != null && first.start < from) found.add(first);
+
+		found.addAll(byStart.subMap(from, true, to, false).values());
+		return found;
+	}
+}
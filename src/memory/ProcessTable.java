@@ -0,0 +1,155 @@
+package src.memory;
+
+// Java SDK Libraries
+import java.util.Arrays;
+
+/**
+ * <p>The <code>ProcessTable</code> class holds the processes read from the
+ * Pinput.data file as two parallel <code>int</code> arrays, one with the id
+ * and one with the size of each process.
+ *
+ * <p>Storing the processes this way avoids one <code>Process</code> object and
+ * one list node per process, and lets the processes be visited by index.
+ * The {@link MemoryAllocator#run} method reuses a single <code>Process</code>
+ * to hand each entry of this table to {@link MemoryAllocator#allocateSlot}.
+ *
+ * @author Richard I. Zhunio
+ * @see Process
+ * @see MemoryAllocator
+ */
+public class ProcessTable {
+	/** The id of each process */
+	private int[] ids;
+
+	/** The size of each process */
+	private int[] sizes;
+
+	/** Number of processes in this table */
+	private int count;
+
+	/**
+	 * Creates a new empty <code>ProcessTable</code>.
+	 */
+	public ProcessTable() {
+		this(16);
+	}
+
+	/**
+	 * Creates a new empty <code>ProcessTable</code> with room for the given
+	 * number of processes.
+	 *
+	 * @param capacity the number of processes to make room for.
+	 */
+	public ProcessTable(int capacity) {
+		ids = new int[Math.max(capacity, 1)];
+		sizes = new int[ids.length];
+	}
+
+	/**
+	 * Creates a copy of this table.
+	 *
+	 * @return a new table with the same processes, in the same order.
+	 */
+	public ProcessTable copy() {
+		ProcessTable copy = new ProcessTable(count);
+		System.arraycopy(ids, 0, copy.ids, 0, count);
+		System.arraycopy(sizes, 0, copy.sizes, 0, count);
+		copy.count = count;
+		return copy;
+	}
+
+	/**
+	 * Adds a process to the end of this table.
+	 *
+	 * @param processID   the id of the process.
+	 * @param processSize the size of the process.
+	 */
+	public void add(int processID, int processSize) {
+		// Grow both arrays when they are full
+		if (count == ids.length) {
+			ids = Arrays.copyOf(ids, 2 * count);
+			sizes = Arrays.copyOf(sizes, 2 * count);
+		}
+
+		ids[count] = processID;
+		sizes[count++] = processSize;
+	}
+
+	/**
+	 * Replaces the process at the given index.
+	 *
+	 * @param index       the index of the process.
+	 * @param processID   the new id of the process.
+	 * @param processSize the new size of the process.
+	 */
+	public void set(int index, int processID, int processSize) {
+		ids[index] = processID;
+		sizes[index] = processSize;
+	}
+
+	/**
+	 * Removes every process from the given index to the end of this table.
+	 *
+	 * @param index the index of the first process to remove.
+	 */
+	public void truncate(int index) {
+		count = index;
+	}
+
+	/**
+	 * Retrieves the indexes of the processes ordered by decreasing size.
+	 * Processes of the same size keep the order of this table.
+	 *
+	 * @return the indexes of the processes, largest process first.
+	 */
+	public int[] decreasingSizeOrder() {
+		// Pack the inverted size above the index, so one primitive sort
+		// orders by decreasing size and then by increasing index
+		long[] keys = new long[count];
+		for (int index = 0; index < count; index++)
+			keys[index] = ((long) ~sizes[index] << 32) | index;
+		Arrays.sort(keys);
+
+		int[] order = new int[count];
+		for (int index = 0; index < count; index++) order[index] = (int) keys[index];
+		return order;
+	}
+
+	/**
+	 * Retrieves the id of the process at the given index.
+	 *
+	 * @param index the index of the process.
+	 * @return the id of the process.
+	 */
+	public int getId(int index) {
+		return ids[index];
+	}
+
+	/**
+	 * Retrieves the size of the process at the given index.
+	 *
+	 * @param index the index of the process.
+	 * @return the size of the process.
+	 */
+	public int getSize(int index) {
+		return sizes[index];
+	}
+
+	/**
+	 * Retrieves the number of processes in this table.
+	 *
+	 * @return the number of processes in this table.
+	 */
+	public int size() {
+		return count;
+	}
+
+	/**
+	 * Tests whether this table has no processes.
+	 *
+	 * @return true if this table has no processes.
+	 */
+	public boolean isEmpty() {
+		return count == 0;
+	}
+}
@@ -0,0 +1,23 @@
+package src.memory;
+
+/**
+ * <p>A <code>RelocationListener</code> is told about every process moved by
+ * compaction, so the moves and the number of bytes they copy can be logged.
+ *
+ * @author Richard I. Zhunio
+ * @see MemoryAllocator#setCompaction
+ * @see ResultWriter
+ */
+public interface RelocationListener {
+
+	/**
+	 * Called when an allocated process has been moved to another address.
+	 *
+	 * @param id   the id of the process.
+	 * @param from the starting address the process was moved from.
+	 * @param to   the starting address the process was moved to.
+	 * @param size the size of the process, which is the number of bytes
+	 *             copied.
+	 */
+	void relocated(int id, int from, int to, int size);
+}
@@ -0,0 +1,301 @@
+package src.memory;
+
+// Java SDK Libraries
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * <p>The <code>RequestBatcher</code> class lets many threads allocate, free
+ * and query processes of a single memory allocation method. A
+ * <code>MemoryAllocator</code> is not thread-safe, so every request has to
+ * be applied one at a time; locking it once per request makes the threads
+ * fight over the lock and wake each other up for every request.
+ *
+ * <p>Instead, threads hand their requests to a single worker thread, in
+ * groups. The worker takes every group that arrived since its last batch and
+ * applies them all in one critical section, then wakes up the threads that
+ * submitted them. The busier the threads, the larger the batches, so the cost
+ * of the hand-off is shared by more requests as the load grows.
+ *
+ * <p>Requests of a group are applied in order, and groups are applied in the
+ * order they were submitted. The critical section locks the
+ * <code>MemoryAllocator</code> itself, so other threads can read it
+ * consistently by locking it too.
+ *
+ * @author Richard I. Zhunio
+ * @see MemoryAllocator#allocate
+ * @see MemoryAllocator#free
+ * @see MemoryAllocator#ownerOf
+ */
+public class RequestBatcher implements Closeable {
+	/** Operation of a request that allocates a process */
+	public static final char ALLOCATE = 'A';
+
+	/** Operation of a request that frees a process */
+	public static final char FREE = 'F';
+
+	/** Operation of a request that finds the owner of an address */
+	public static final char QUERY = 'Q';
+
+	/** Operation of a request that only reads the counters of the batcher */
+	public static final char STATS = 'S';
+
+	/**
+	 * A request and its result. Requests can be reused once their group has
+	 * been applied.
+	 */
+	public static final class Request {
+		/** Operation of this request, such as {@link #ALLOCATE} */
+		public char op;
+
+		/** Id of the process to allocate or free */
+		public int id;
+
+		/** Size of the process to allocate, or the address to query */
+		public int size;
+
+		/** Error found before or while applying this request, or null */
+		public String error;
+
+		/** True if the request succeeded */
+		public boolean success;
+
+		/** Process that owns the queried address */
+		public int owner;
+
+		/** Starting address of the process allocated or found */
+		public int start;
+
+		/** Ending address of the process allocated or found */
+		public int end;
+	}
+
+	/**
+	 * Requests submitted together by a thread.
+	 */
+	private static final class Group {
+		/** Requests of this group */
+		final Request[] requests;
+
+		/** Number of requests in use */
+		final int count;
+
+		/** Thread waiting for this group */
+		final Thread waiter = Thread.currentThread();
+
+		/** True if the requests were applied, false if the batcher closed first */
+		boolean applied;
+
+		/** True once the worker is done with this group */
+		volatile boolean done;
+
+		Group(Request[] requests, int count) {
+			this.requests = requests;
+			this.count = count;
+		}
+	}
+
+	/** Memory allocation method the requests are applied to */
+	private final MemoryAllocator allocator;
+
+	/** Groups waiting for the next batch */
+	private final LinkedBlockingQueue<Group> pending = new LinkedBlockingQueue<>();
+
+	/** Thread that applies the batches */
+	private final Thread worker;
+
+	/** Process reused for every allocation */
+	private final Process process = new Process(0, 0);
+
+	/** True once no more requests are accepted */
+	private volatile boolean closed;
+
+	/** Number of requests applied */
+	private volatile long requests;
+
+	/** Number of batches applied */
+	private volatile long batches;
+
+	/**
+	 * Creates a new <code>RequestBatcher</code> and starts its worker thread.
+	 *
+	 * @param allocator the memory allocation method to apply requests to.
+	 */
+	public RequestBatcher(MemoryAllocator allocator) {
+		this.allocator = allocator;
+		worker = new Thread(this::work, "request-batcher");
+		worker.setDaemon(true);
+		worker.start();
+	}
+
+	/**
+	 * Applies the first <code>count</code> requests and waits until they
+	 * have been applied. Requests that already have an error are skipped,
+	 * and requests that fail while being applied are given an error.
+	 *
+	 * @param requests the requests to apply, in order.
+	 * @param count    the number of requests to apply.
+	 * @throws IllegalStateException if the batcher has been closed.
+	 */
+	public void submit(Request[] requests, int count) {
+		if (closed) throw new IllegalStateException("Request batcher is closed");
+
+		Group group = new Group(requests, count);
+		pending.add(group);
+
+		// The worker may have stopped before the group was added
+		if (closed && pending.remove(group))
+			throw new IllegalStateException("Request batcher is closed");
+
+		// Wait for the worker, which wakes this thread up
+		boolean interrupted = false;
+		while (!group.done) {
+			LockSupport.park(this);
+			if (Thread.interrupted()) interrupted = true;
+		}
+		if (interrupted) Thread.currentThread().interrupt();
+
+		if (!group.applied)
+			throw new IllegalStateException("Request batcher is closed");
+	}
+
+	/**
+	 * Retrieves the number of requests applied.
+	 * @return the number of requests applied.
+	 */
+	public long requests() {
+		return requests;
+	}
+
+	/**
+	 * Retrieves the number of batches applied.
+	 * @return the number of batches applied.
+	 */
+	public long batches() {
+		return batches;
+	}
+
+	/**
+	 * Retrieves the mean number of requests applied per batch.
+	 * @return the mean batch size.
+	 */
+	public double meanBatch() {
+		long applied = batches;
+		return applied == 0 ? 0 : (double) requests / applied;
+	}
+
+	/**
+	 * Stops accepting requests and stops the worker thread. Groups that
+	 * have not been applied yet are given back to their threads.
+	 */
+	@Override
+	public void close() {
+		closed = true;
+		worker.interrupt();
+	}
+
+	/**
+	 * Applies batches until the batcher is closed.
+	 */
+	private void work() {
+		ArrayList<Group> batch = new ArrayList<>();
+		try {
+			while (!closed) {
+				// Wait for a group, then take every other group that arrived
+				batch.add(pending.take());
+				pending.drainTo(batch);
+
+				try {
+					apply(batch);
+				} finally {
+					// Wake up the threads of the batch, even if a request failed
+					for (Group group : batch) {
+						group.applied = true;
+						group.done = true;
+						LockSupport.unpark(group.waiter);
+					}
+					batch.clear();
+				}
+			}
+		} catch (InterruptedException e) {
+			// Closed while waiting for a group
+		}
+
+		// Give back the groups that will not be applied
+		pending.drainTo(batch);
+		for (Group group : batch) {
+			group.done = true;
+			LockSupport.unpark(group.waiter);
+		}
+	}
+
+	/**
+	 * Applies every request of a batch in one critical section.
+	 */
+	private void apply(ArrayList<Group> batch) {
+		long applied = 0;
+		synchronized (allocator) {
+			for (Group group : batch) {
+				for (int index = 0; index < group.count; index++) {
+					Request request = group.requests[index];
+					try {
+						apply(request);
+					} catch (RuntimeException e) {
+						// A failed request must not stop the worker
+						request.success = false;
+						request.error = "Request failed: " + e;
+					}
+				}
+				applied += group.count;
+			}
+		}
+		requests += applied;
+		batches++;
+	}
+
+	/**
+	 * Applies a single request to the memory allocation method.
+	 */
+	private void apply(Request request) {
+		request.success = false;
+		if (request.error != null) return;
+
+		switch (request.op) {
+			case ALLOCATE:
+				// An id is allocated at most once, so it can be freed
+				if (allocator.isAllocated(request.id)) {
+					request.error = "Process already allocated: " + request.id;
+					return;
+				}
+
+				process.id = request.id;
+				process.size = request.size;
+				MemorySlot slot = allocator.allocate(process);
+				if (slot != null) {
+					request.success = true;
+					request.start = slot.startMarker;
+					request.end = slot.endMarker;
+				}
+				break;
+			case FREE:
+				request.success = allocator.free(request.id);
+				break;
+			case QUERY:
+				Allocation allocation = allocator.ownerOf(request.size);
+				if (allocation != null) {
+					request.success = true;
+					request.owner = allocation.id;
+					request.start = allocation.start;
+					request.end = allocation.end;
+				}
+				break;
+			case STATS:
+				request.success = true;
+				break;
+			default:
+				request.error = "Not supported operation: " + request.op;
+		}
+	}
+}
@@ -0,0 +1,35 @@
+package src.memory;
+
+/**
+ * <p>A <code>ResultSink</code> receives the results of a memory allocation
+ * method as they are produced by {@link MemoryAllocator#run(ResultSink)}.
+ *
+ * <p>Each process that is allocated is given to {@link #allocated} with the
+ * starting and ending address it was allocated to. Once every process has
+ * been tried, each process that could not be allocated is given to
+ * {@link #unallocated}. If every process was allocated,
+ * {@link #unallocated} is called once with id 0.
+ *
+ * @author Richard I. Zhunio
+ * @see MemoryAllocator
+ * @see ResultWriter
+ */
+public interface ResultSink {
+
+	/**
+	 * Receives a process that has been allocated to a memory slot.
+	 *
+	 * @param start the starting address of the process.
+	 * @param end   the ending address of the process.
+	 * @param id    the id of the process.
+	 */
+	void allocated(int start, int end, int id);
+
+	/**
+	 * Receives a process that could not be allocated, or id 0 if every
+	 * process was allocated.
+	 *
+	 * @param id the id of the process.
+	 */
+	void unallocated(int id);
+}
@@ -0,0 +1,193 @@
+package src.memory;
+
+// Java SDK Libraries
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * <p>The <code>ResultWriter</code> class is a {@link ResultSink} that writes
+ * each result to a channel as soon as it is received, using the same format
+ * as the list returned by {@link MemoryAllocator#run()}:
+ * <blockquote><pre>{@code
+ * 	300 512 1  = starting address, ending address and id of a process
+ * 	-4         = id of a process that could not be allocated
+ * 	-0         = every process was allocated
+ * }</pre></blockquote>
+ *
+ * <p>A <code>ResultWriter</code> is also a {@link RelocationListener}, and
+ * writes each process moved by compaction as follows:
+ * <blockquote><pre>{@code
+ * 	1 300 0 212  = id, old and new starting address, and size of a process
+ * }</pre></blockquote>
+ *
+ * <p>Lines of one or two ints can also be written with {@link #line(int)} and
+ * {@link #line(int, int)}, which is all it takes to write Minput.data and
+ * Pinput.data files.
+ *
+ * <p>Integers are formatted straight into a reusable <code>ByteBuffer</code>
+ * that is written to the channel whenever it fills up, so memory use does not
+ * grow with the number of results and no <code>String</code> is created per
+ * result. An <code>IOException</code> while writing is rethrown as an
+ * <code>UncheckedIOException</code>.
+ *
+ * @author Richard I. Zhunio
+ * @see ResultSink
+ * @see MemoryAllocator
+ */
+public class ResultWriter implements ResultSink, RelocationListener, Closeable {
+	/** Size of the buffer in bytes */
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	/** Longest formatted result: four ints, three spaces and a line separator */
+	private static final int MAX_RESULT_SIZE = 4 * 11 + 3 + 2;
+
+	/** Line separator written after each result */
+	private static final byte[] LINE_SEPARATOR = System.lineSeparator().getBytes();
+
+	/** Channel the results are written to */
+	private final WritableByteChannel channel;
+
+	/** Results that have not been written to the channel yet */
+	private final ByteBuffer buffer;
+
+	/** Digits of the int being formatted, in reverse order */
+	private final byte[] digits;
+
+	/**
+	 * Creates a new <code>ResultWriter</code> that writes to the given file.
+	 *
+	 * @param file the file to write the results to.
+	 * @throws IOException if the file cannot be opened for writing.
+	 */
+	public ResultWriter(File file) throws IOException {
+		this(new FileOutputStream(file).getChannel());
+	}
+
+	/**
+	 * Creates a new <code>ResultWriter</code> that writes to the given channel.
+	 *
+	 * @param channel the channel to write the results to.
+	 */
+	public ResultWriter(WritableByteChannel channel) {
+		this.channel = channel;
+		this.buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+		this.digits = new byte[10];
+	}
+
+	@Override
+	public void allocated(int start, int end, int id) {
+		reserve();
+		putInt(start);
+		buffer.put((byte) ' ');
+		putInt(end);
+		buffer.put((byte) ' ');
+		putInt(id);
+		buffer.put(LINE_SEPARATOR);
+	}
+
+	@Override
+	public void unallocated(int id) {
+		reserve();
+		buffer.put((byte) '-');
+		putInt(id);
+		buffer.put(LINE_SEPARATOR);
+	}
+
+	@Override
+	public void relocated(int id, int from, int to, int size) {
+		reserve();
+		putInt(id);
+		buffer.put((byte) ' ');
+		putInt(from);
+		buffer.put((byte) ' ');
+		putInt(to);
+		buffer.put((byte) ' ');
+		putInt(size);
+		buffer.put(LINE_SEPARATOR);
+	}
+
+	/**
+	 * Writes a line holding a single int.
+	 *
+	 * @param value the int to write.
+	 */
+	public void line(int value) {
+		reserve();
+		putInt(value);
+		buffer.put(LINE_SEPARATOR);
+	}
+
+	/**
+	 * Writes a line holding two ints separated by a space.
+	 *
+	 * @param first  the first int to write.
+	 * @param second the second int to write.
+	 */
+	public void line(int first, int second) {
+		reserve();
+		putInt(first);
+		buffer.put((byte) ' ');
+		putInt(second);
+		buffer.put(LINE_SEPARATOR);
+	}
+
+	/**
+	 * Writes every buffered result to the channel.
+	 */
+	public void flush() {
+		buffer.flip();
+		try {
+			while (buffer.hasRemaining()) channel.write(buffer);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		buffer.clear();
+	}
+
+	/**
+	 * Writes every buffered result and closes the channel.
+	 *
+	 * @throws IOException if the channel cannot be closed.
+	 */
+	@Override
+	public void close() throws IOException {
+		try {
+			flush();
+		} finally {
+			channel.close();
+		}
+	}
+
+	/**
+	 * Makes sure the buffer has room for one more result.
+	 */
+	private void reserve() {
+		if (buffer.remaining() < MAX_RESULT_SIZE) flush();
+	}
+
+	/**
+	 * Formats an int as ASCII digits into the buffer.
+	 *
+	 * @param value the int to format.
+	 */
+	private void putInt(int value) {
+		if (value < 0) buffer.put((byte) '-');
+
+		// Collect digits from the least significant one, negative values avoid
+		// overflowing on Integer.MIN_VALUE
+		int negative = value < 0 ? value : -value;
+		int count = 0;
+		do {
+			digits[count++] = (byte) ('0' - negative % 10);
+			negative /= 10;
+		} while (negative != 0);
+
+		// Write the digits from the most significant one
+		while (count > 0) buffer.put(digits[--count]);
+	}
+}
@@ -0,0 +1,268 @@
+package src.memory;
+
+// Java SDK Libraries
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>The <code>ShardedAllocator</code> class allocates and frees processes in
+ * a list of memory slots from many threads at the same time, like the
+ * {@link ConcurrentAllocator}, but splits the memory slots into shards so that
+ * threads do not even contend on the same memory slots.
+ *
+ * <p>The memory slots are split into a given number of shards of consecutive
+ * memory slots, usually one per core. Each thread is given a home shard the
+ * first time it allocates, in turn, and searches only its home shard, from
+ * where its previous search in that shard ended. Only when its home shard has
+ * no memory slot with enough space left does it steal from the other shards,
+ * starting with the next one. Processes are added to their memory slot under
+ * the same lock of the memory slot as in the {@link ConcurrentAllocator}, so
+ * stealing is safe, but as long as every thread has a home shard of its own
+ * the lock is never contended.
+ *
+ * <p>Each shard counts the allocations it served, how many of those were
+ * stolen by threads of other shards, and how many requests of its own
+ * threads found no space anywhere. Placements are returned in the same form
+ * as by the {@link ConcurrentAllocator}, and are taken apart with
+ * {@link ConcurrentAllocator#slotOf} and {@link ConcurrentAllocator#addressOf}.
+ * As there, the memory slots hold every process allocated.
+ *
+ * @author Richard I. Zhunio
+ * @see ConcurrentAllocator
+ * @see MemorySlot
+ */
+public class ShardedAllocator {
+	/** Adds and frees the processes of the memory slots */
+	private final ConcurrentAllocator slots;
+
+	/** Position of the first memory slot of each shard, and the slot count */
+	private final int[] shardStarts;
+
+	/** Allocations served by each shard */
+	private final LongAdder[] allocations;
+
+	/** Allocations served by each shard to threads of other shards */
+	private final LongAdder[] stolen;
+
+	/** Requests of the threads of each shard that found no space */
+	private final LongAdder[] failures;
+
+	/** Home shard of the next thread */
+	private final AtomicInteger nextHome = new AtomicInteger();
+
+	/** Home shard of each thread, followed by its cursor in every shard */
+	private final ThreadLocal<int[]> threadState;
+
+	/**
+	 * Creates a new <code>ShardedAllocator</code> over the given memory slots,
+	 * which may already hold processes. There are never more shards than
+	 * memory slots.
+	 *
+	 * @param mList  the memory slots to allocate from.
+	 * @param shards the number of shards, such as the number of cores.
+	 * @throws IllegalArgumentException if <code>shards</code> is not positive.
+	 */
+	public ShardedAllocator(List<MemorySlot> mList, int shards) {
+		if (shards < 1)
+			throw new IllegalArgumentException("No valid number of shards: " + shards);
+		shards = Math.min(shards, Math.max(mList.size(), 1));
+
+		slots = new ConcurrentAllocator(mList);
+		shardStarts = new int[shards + 1];
+		allocations = new LongAdder[shards];
+		stolen = new LongAdder[shards];
+		failures = new LongAdder[shards];
+		for (int shard = 0; shard < shards; shard++) {
+			shardStarts[shard] = (int) ((long) shard * mList.size() / shards);
+			allocations[shard] = new LongAdder();
+			stolen[shard] = new LongAdder();
+			failures[shard] = new LongAdder();
+		}
+		shardStarts[shards] = mList.size();
+
+		// Give each thread the next home shard, with cursors at each shard start
+		threadState = ThreadLocal.withInitial(() -> {
+			int[] state = new int[shardCount() + 1];
+			state[0] = Math.floorMod(nextHome.getAndIncrement(), shardCount());
+			System.arraycopy(shardStarts, 0, state, 1, shardCount());
+			return state;
+		});
+	}
+
+	/**
+	 * Allocates a process in the home shard of this thread, or in another
+	 * shard if the home shard has no memory slot with enough space available.
+	 *
+	 * @param processId   the id of the process.
+	 * @param processSize the size of the process.
+	 * @return the placement of the process, or
+	 * {@link ConcurrentAllocator#NO_SPACE} if no memory slot has enough space
+	 * available.
+	 */
+	public long allocate(int processId, int processSize) {
+		if (processSize < 0)
+			throw new IllegalArgumentException("Negative size: " + processSize);
+
+		int[] state = threadState.get();
+		int home = state[0];
+
+		// Look in the home shard first, then steal from the next ones
+		for (int step = 0; step < shardCount(); step++) {
+			int shard = home + step;
+			if (shard >= shardCount()) shard -= shardCount();
+
+			long placement = search(shard, processId, processSize, state);
+			if (placement != ConcurrentAllocator.NO_SPACE) {
+				allocations[shard].increment();
+				if (shard != home) stolen[shard].increment();
+				return placement;
+			}
+		}
+
+		failures[home].increment();
+		return ConcurrentAllocator.NO_SPACE;
+	}
+
+	/**
+	 * Frees a process, so that its space can be allocated again by any
+	 * shard.
+	 *
+	 * @param processId the id of the process.
+	 * @param placement the placement returned when the process was allocated.
+	 * @return true if the process was in the memory slot of the placement
+	 * and has been freed, false if it was not or the placement is
+	 * {@link ConcurrentAllocator#NO_SPACE} or of no memory slot.
+	 */
+	public boolean free(int processId, long placement) {
+		return slots.free(processId, placement);
+	}
+
+	/**
+	 * Allocates a process in the first memory slot of a shard, from the
+	 * cursor of this thread in that shard, that has enough space available.
+	 */
+	private long search(int shard, int processId, int processSize, int[] state) {
+		int start = shardStarts[shard];
+		int end = shardStarts[shard + 1];
+		int cursor = state[shard + 1];
+
+		for (int probe = start; probe < end; probe++) {
+			int position = cursor + probe - start;
+			if (position >= end) position -= end - start;
+
+			long placement = slots.claim(position, processId, processSize);
+			if (placement != ConcurrentAllocator.NO_SPACE) {
+				state[shard + 1] = position;
+				return placement;
+			}
+		}
+		return ConcurrentAllocator.NO_SPACE;
+	}
+
+	/**
+	 * Retrieves the number of shards.
+	 *
+	 * @return the number of shards.
+	 */
+	public int shardCount() {
+		return shardStarts.length - 1;
+	}
+
+	/**
+	 * Retrieves the shard of a memory slot.
+	 *
+	 * @param position the position of the memory slot.
+	 * @return the shard that holds the memory slot.
+	 */
+	public int shardOf(int position) {
+		// Find the last shard that starts at or before the position
+		int low = 0;
+		int high = shardCount() - 1;
+		while (low < high) {
+			int middle = (low + high + 1) >>> 1;
+			if (shardStarts[middle] <= position) low = middle;
+			else high = middle - 1;
+		}
+		return low;
+	}
+
+	/**
+	 * Retrieves the space available in a memory slot, which is the size of
+	 * its largest hole.
+	 *
+	 * @param position the position of the memory slot.
+	 * @return the space available in the memory slot.
+	 */
+	public int spaceAvailable(int position) {
+		return slots.spaceAvailable(position);
+	}
+
+	/**
+	 * Retrieves the free space in a memory slot, which is the total size of
+	 * its holes.
+	 *
+	 * @param position the position of the memory slot.
+	 * @return the free space in the memory slot.
+	 */
+	public long freeSpace(int position) {
+		return slots.freeSpace(position);
+	}
+
+	/**
+	 * Retrieves the number of allocations served by a shard.
+	 *
+	 * @param shard the shard.
+	 * @return the number of allocations served by the shard.
+	 */
+	public long allocations(int shard) {
+		return allocations[shard].sum();
+	}
+
+	/**
+	 * Retrieves the number of allocations a shard served to threads of other
+	 * shards.
+	 *
+	 * @param shard the shard.
+	 * @return the number of allocations stolen from the shard.
+	 */
+	public long stolen(int shard) {
+		return stolen[shard].sum();
+	}
+
+	/**
+	 * Retrieves the number of requests of the threads of a shard that found
+	 * no space in any shard.
+	 *
+	 * @param shard the shard.
+	 * @return the number of failed requests.
+	 */
+	public long failures(int shard) {
+		return failures[shard].sum();
+	}
+
+	/**
+	 * String representation of a <code>ShardedAllocator</code>, with the
+	 * statistics of each shard on its own line.
+	 * @return the statistics of each shard.
+	 */
+	@Override
+	public String toString() {
+		StringBuilder statistics = new StringBuilder();
+		for (int shard = 0; shard < shardCount(); shard++) {
+			long space = 0;
+			for (int position = shardStarts[shard]; position < shardStarts[shard + 1]; position++)
+				space += freeSpace(position);
+
+			statistics.append("shard ").append(shard)
+				.append(": slots ").append(shardStarts[shard])
+				.append('-').append(shardStarts[shard + 1] - 1)
+				.append(", allocations ").append(allocations(shard))
+				.append(", stolen ").append(stolen(shard))
+				.append(", failures ").append(failures(shard))
+				.append(", free space ").append(space)
+				.append(System.lineSeparator());
+		}
+		return statistics.toString();
+	}
+}
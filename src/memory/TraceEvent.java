@@ -0,0 +1,42 @@
+package src.memory;
+
+/**
+ * The <code>TraceEvent</code> class represents each event read from a trace
+ * file. Each <code>TraceEvent</code> has a timestamp, an operation, the id of
+ * a process and its size. A <code>TraceEvent</code> is reused for every event
+ * of the trace, so it must not be kept.
+ *
+ * @author Richard I. Zhunio
+ * @see src.parser.TraceParser
+ * @see TraceReplay
+ */
+public class TraceEvent {
+	/** Operation that allocates a process */
+	public static final char ALLOCATE = 'A';
+
+	/** Operation that frees a process */
+	public static final char FREE = 'F';
+
+	/** Represents the time of this event on the virtual clock */
+	public long timestamp;
+
+	/** Represents the operation of this event, {@link #ALLOCATE} or {@link #FREE} */
+	public char op;
+
+	/** Represents the id of the process */
+	public int id;
+
+	/** Represents the size of the process, ignored when freeing */
+	public int size;
+
+	/**
+	 * String representation of a <code>TraceEvent</code>, as it is written
+	 * in a trace file.
+	 * @return the <code>timestamp</code>, <code>op</code>, <code>id</code>
+	 * and <code>size</code> of a <code>TraceEvent</code>
+	 */
+	@Override
+	public String toString() {
+		return timestamp + " " + op + " " + id + " " + size;
+	}
+}
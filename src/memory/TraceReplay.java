@@ -0,0 +1,200 @@
+package src.memory;
+
+// User libraries
+import src.parser.InvalidNumberException;
+import src.parser.TraceParser;
+
+// Java SDK Libraries
+import java.io.FileNotFoundException;
+
+/**
+ * <p>The <code>TraceReplay</code> class drives a memory allocation method
+ * through a trace of allocations and frees, in the order of their
+ * timestamps. A Pinput.data file can only list processes to allocate once,
+ * while a trace also says when each process is freed again.
+ *
+ * <p>The replay runs on a virtual clock: the clock jumps to the timestamp of
+ * each event instead of waiting for it, so a trace that spans hours replays
+ * as fast as the memory allocation method can go. The trace is streamed with
+ * a {@link TraceParser}, so memory does not grow with its length. When the
+ * replay is done, the number of events per second of wall-clock time is
+ * available from {@link #eventsPerSecond}.
+ *
+ * <p>Each allocation is given to a {@link ResultSink} as soon as it is made,
+ * and each process that could not be allocated is given to it right away.
+ * Frees are not given to the sink.
+ *
+ * @author Richard I. Zhunio
+ * @see TraceParser
+ * @see TraceEvent
+ * @see MemoryAllocator#allocate
+ * @see MemoryAllocator#free
+ */
+public class TraceReplay {
+	/** Memory allocation method driven by the trace */
+	private final MemoryAllocator allocator;
+
+	/** Number of events replayed */
+	private long events;
+
+	/** Number of processes allocated */
+	private long allocated;
+
+	/** Number of processes that could not be allocated */
+	private long unallocated;
+
+	/** Number of processes freed */
+	private long freed;
+
+	/** Number of frees of processes that were not allocated */
+	private long missedFrees;
+
+	/** Timestamp of the first event */
+	private long firstTimestamp;
+
+	/** Current time of the virtual clock */
+	private long clock;
+
+	/** Wall-clock time taken by the replay */
+	private long wallNanos;
+
+	/**
+	 * Creates a new <code>TraceReplay</code> for a memory allocation method.
+	 * Processes of the process table of the memory allocation method are
+	 * ignored; only processes of the trace are allocated.
+	 *
+	 * @param allocator the memory allocation method to drive.
+	 */
+	public TraceReplay(MemoryAllocator allocator) {
+		this.allocator = allocator;
+	}
+
+	/**
+	 * Replays every event of a trace file.
+	 *
+	 * @param traceInput the filepath to the trace file.
+	 * @param sink       receives the memory slots and their corresponding
+	 *                   allocated process.
+	 * @throws FileNotFoundException  if <code>traceInput</code> does not
+	 *                                contain a valid filepath.
+	 * @throws InvalidNumberException if the trace file contains an invalid
+	 *                                event.
+	 */
+	public void replay(String traceInput, ResultSink sink)
+		throws FileNotFoundException, InvalidNumberException {
+		// Event and process reused for every line of the trace
+		TraceEvent event = new TraceEvent();
+		Process process = new Process(0, 0);
+
+		long started = System.nanoTime();
+		try (TraceParser parser = new TraceParser(traceInput)) {
+			while (parser.next(event)) {
+				// Move the virtual clock to the event
+				if (events++ == 0) firstTimestamp = event.timestamp;
+				clock = event.timestamp;
+
+				if (event.op == TraceEvent.ALLOCATE) {
+					process.id = event.id;
+					process.size = event.size;
+
+					// Log allocated or unallocated process right away
+					MemorySlot slot = allocator.allocate(process);
+					if (slot != null) {
+						allocated++;
+						sink.allocated(slot.startMarker, slot.endMarker, process.id);
+					} else {
+						unallocated++;
+						sink.unallocated(process.id);
+					}
+				}
+				else if (allocator.free(event.id)) freed++;
+				else missedFrees++;
+			}
+		} finally {
+			wallNanos = System.nanoTime() - started;
+		}
+
+		// Measure the free space left behind
+		allocator.measure();
+	}
+
+	/**
+	 * Retrieves the number of events replayed.
+	 * @return the number of events replayed.
+	 */
+	public long events() {
+		return events;
+	}
+
+	/**
+	 * Retrieves the number of processes allocated.
+	 * @return the number of processes allocated.
+	 */
+	public long allocated() {
+		return allocated;
+	}
+
+	/**
+	 * Retrieves the number of processes that could not be allocated.
+	 * @return the number of processes that could not be allocated.
+	 */
+	public long unallocated() {
+		return unallocated;
+	}
+
+	/**
+	 * Retrieves the number of processes freed.
+	 * @return the number of processes freed.
+	 */
+	public long freed() {
+		return freed;
+	}
+
+	/**
+	 * Retrieves the number of frees of processes that were not allocated,
+	 * either because they never fit or because they were already freed.
+	 * @return the number of frees that did nothing.
+	 */
+	public long missedFrees() {
+		return missedFrees;
+	}
+
+	/**
+	 * Retrieves the time covered by the trace on the virtual clock, from the
+	 * first event to the last one.
+	 * @return the time covered by the trace, in the units of its timestamps.
+	 */
+	public long virtualTime() {
+		return events == 0 ? 0 : clock - firstTimestamp;
+	}
+
+	/**
+	 * Retrieves the wall-clock time taken by the replay.
+	 * @return the wall-clock time taken by the replay, in nanoseconds.
+	 */
+	public long wallNanos() {
+		return wallNanos;
+	}
+
+	/**
+	 * Retrieves the throughput of the replay.
+	 * @return the number of events replayed per second of wall-clock time.
+	 */
+	public double eventsPerSecond() {
+		return wallNanos == 0 ? 0 : events * 1e9 / wallNanos;
+	}
+
+	/**
+	 * String representation of a <code>TraceReplay</code>, summarizing the
+	 * events replayed and the throughput.
+	 * @return a summary of the replay.
+	 */
+	@Override
+	public String toString() {
+		return events + " events (" + allocated + " allocated, " + unallocated
+			+ " unallocated, " + freed + " freed, " + missedFrees
+			+ " missed frees) over " + virtualTime() + " virtual time in "
+			+ wallNanos / 1_000_000 + " ms, "
+			+ Math.round(eventsPerSecond()) + " events/s";
+	}
+}
@@ -0,0 +1,86 @@
+package src.memory;
+
+// Java SDK Libraries
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * <p>The <code>WaitQueue</code> class holds the processes that could not be
+ * allocated, indexed by size, so that they can be tried again when space is
+ * freed. Processes of the same size wait in the order they arrived.
+ *
+ * <p>When a process is freed, only the memory slot it was in has gained
+ * space, and no waiting process fit anywhere before. So only the processes no
+ * larger than the largest hole of that memory slot are tried again, smallest
+ * first, and the retry stops at the first process that does not fit. The cost
+ * of a retry grows with the number of processes it allocates, not with the
+ * number of processes waiting.
+ *
+ * @author Richard I. Zhunio
+ * @see MemoryAllocator#setWaitQueue
+ */
+class WaitQueue {
+	/** Ids of the waiting processes by size, in order of arrival */
+	private final TreeMap<Integer, LinkedHashSet<Integer>> bySize = new TreeMap<>();
+
+	/** Size of each waiting process by id */
+	private final HashMap<Integer, Integer> sizes = new HashMap<>();
+
+	/**
+	 * Adds a process to the queue. A process that is already waiting is
+	 * not added twice.
+	 *
+	 * @param id   the id of the process.
+	 * @param size the size of the process.
+	 */
+	void add(int id, int size) {
+		if (sizes.putIfAbsent(id, size) == null)
+			bySize.computeIfAbsent(size, key -> new LinkedHashSet<>()).add(id);
+	}
+
+	/**
+	 * Removes a process from the queue.
+	 *
+	 * @param id the id of the process.
+	 * @return true if the process was waiting.
+	 */
+	boolean remove(int id) {
+		Integer size = sizes.remove(id);
+		if (size == null) return false;
+
+		LinkedHashSet<Integer> ids = bySize.get(size);
+		ids.remove(id);
+		if (ids.isEmpty()) bySize.remove(size);
+		return true;
+	}
+
+	/**
+	 * Retrieves the number of waiting processes.
+	 *
+	 * @return the number of waiting processes.
+	 */
+	int size() {
+		return sizes.size();
+	}
+
+	/**
+	 * Fills in the smallest waiting process that is no larger than the given
+	 * size, without removing it.
+	 *
+	 * @param limit   the largest size to consider.
+	 * @param process the process to fill in with the id and size found.
+	 * @return false if no waiting process is small enough.
+	 */
+	boolean smallest(int limit, Process process) {
+		Map.Entry<Integer, LinkedHashSet<Integer>> entry = bySize.firstEntry();
+		if (entry == null || entry.getKey() > limit) return false;
+
+		Iterator<Integer> ids = entry.getValue().iterator();
+		process.id = ids.next();
+		process.size = entry.getKey();
+		return true;
+	}
+}
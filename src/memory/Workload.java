@@ -0,0 +1,98 @@
+package src.memory;
+
+// User libraries
+import src.parser.InvalidNumberException;
+import src.parser.MemorySlotParser;
+import src.parser.ProcessParser;
+
+// Java SDK Libraries
+import java.io.FileNotFoundException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * <p>The <code>Workload</code> class holds the memory slots and processes
+ * read from a pair of Minput.data and Pinput.data files, so that the files are
+ * parsed once no matter how many memory allocation methods are run on them.
+ *
+ * <p>A <code>Workload</code> is never changed after it is created. Each
+ * <code>MemoryAllocator</code> created from it receives its own copy of the
+ * memory slots and processes, so several memory allocation methods can run on
+ * the same <code>Workload</code> at the same time.
+ *
+ * @author Richard I. Zhunio
+ * @see MemoryAllocator
+ * @see MemorySlot
+ * @see ProcessTable
+ */
+public final class Workload {
+	/** Memory slots as read from the Minput.data file */
+	private final List<MemorySlot> slots;
+
+	/** Processes as read from the Pinput.data file */
+	private final ProcessTable processes;
+
+	/**
+	 * Creates a new <code>Workload</code> by parsing the given files.
+	 *
+	 * @param memoryInput  the filepath to the Minput.data file.
+	 * @param processInput the filepath to the Pinput.data file.
+	 * @throws FileNotFoundException  if the <code>memoryInput</code> or
+	 *                                <code>processInput</code>does not contain a
+	 *                                valid filepath.
+	 * @throws InvalidNumberException if the Minput.data or Pinput.data
+	 *                                contain invalid numbers.
+	 */
+	public Workload(String memoryInput, String processInput)
+		throws FileNotFoundException, InvalidNumberException {
+		this(new MemorySlotParser(memoryInput).parse(),
+			new ProcessParser(processInput).parse());
+	}
+
+	/**
+	 * Creates a new <code>Workload</code> from memory slots and processes
+	 * that have already been read. Both are copied.
+	 *
+	 * @param slots     the memory slots.
+	 * @param processes the processes.
+	 */
+	public Workload(List<MemorySlot> slots, ProcessTable processes) {
+		this.slots = Collections.unmodifiableList(copy(slots));
+		this.processes = processes.copy();
+	}
+
+	/**
+	 * Retrieves a new copy of the memory slots of this workload.
+	 *
+	 * @return a list of memory slots that may be changed by the caller.
+	 */
+	public ArrayList<MemorySlot> slots() {
+		return copy(slots);
+	}
+
+	/**
+	 * Retrieves a new copy of the processes of this workload.
+	 *
+	 * @return a table of processes that may be changed by the caller.
+	 */
+	public ProcessTable processes() {
+		return processes.copy();
+	}
+
+	/**
+	 * Creates a deep copy of a list of memory slots.
+	 *
+	 * @param slots the memory slots to copy.
+	 * @return a list containing a clone of each memory slot.
+	 */
+	private static ArrayList<MemorySlot> copy(List<MemorySlot> slots) {
+		ArrayList<MemorySlot> copy = new ArrayList<>(slots.size());
+		try {
+			for (MemorySlot slot : slots) copy.add((MemorySlot) slot.clone());
+		} catch (CloneNotSupportedException e) {
+			throw new AssertionError(e);
+		}
+		return copy;
+	}
+}
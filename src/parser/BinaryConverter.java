@@ -0,0 +1,140 @@
+package src.parser;
+
+// Java SDK libraries
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+
+/**
+ * <p>The <code>BinaryConverter</code> class converts Minput.data and
+ * Pinput.data files into a compact binary format. Every integer is a
+ * little-endian 32-bit integer, so a binary file is read without decoding
+ * any text. The format of a binary file is as follows:
+ * <blockquote><pre>{@code
+ * 	MIN1 or PIN1  = magic number, for memory slots or processes
+ * 	3             = number of records
+ * 	100 400       = start and end address, or process id and size
+ * 	... ...
+ * }</pre></blockquote>
+ *
+ * <p>{@link MemorySlotParser} and {@link ProcessParser} recognize a binary
+ * file by its magic number and memory-map it like a text file, so a binary
+ * file can be given anywhere a Minput.data or Pinput.data file can.
+ *
+ * <p>The text file is streamed and each record is written as soon as it is
+ * read, so files of any size are converted in constant memory. The number of
+ * records in the header is the number actually written.
+ *
+ * @author Richard I. Zhunio
+ * @see MemorySlotParser
+ * @see ProcessParser
+ */
+public class BinaryConverter {
+	/** Magic number of a binary file of memory slots, "MIN1" */
+	public static final int SLOTS_MAGIC = magic("MIN1");
+
+	/** Magic number of a binary file of processes, "PIN1" */
+	public static final int PROCESSES_MAGIC = magic("PIN1");
+
+	/** Size of the write buffer in bytes */
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	/**
+	 * Converts a Minput.data file into a binary file.
+	 *
+	 * @param textInput    the filepath to the Minput.data file.
+	 * @param binaryOutput the filepath to the binary file to write.
+	 * @return the number of memory slots written.
+	 * @throws FileNotFoundException  if <code>textInput</code> is not a
+	 *                                correct path to the Minput.data.
+	 * @throws InvalidNumberException if an invalid number of memory slots
+	 *                                is provided.
+	 * @throws IOException            if the binary file cannot be written.
+	 */
+	public static long convertSlots(String textInput, String binaryOutput)
+		throws IOException, InvalidNumberException {
+		return convert(textInput, binaryOutput, SLOTS_MAGIC);
+	}
+
+	/**
+	 * Converts a Pinput.data file into a binary file.
+	 *
+	 * @param textInput    the filepath to the Pinput.data file.
+	 * @param binaryOutput the filepath to the binary file to write.
+	 * @return the number of processes written.
+	 * @throws FileNotFoundException  if <code>textInput</code> is not a
+	 *                                correct path to the Pinput.data.
+	 * @throws InvalidNumberException if an invalid number of processes is
+	 *                                provided.
+	 * @throws IOException            if the binary file cannot be written.
+	 */
+	public static long convertProcesses(String textInput, String binaryOutput)
+		throws IOException, InvalidNumberException {
+		return convert(textInput, binaryOutput, PROCESSES_MAGIC);
+	}
+
+	/**
+	 * Converts a text file of pairs of integers into a binary file.
+	 */
+	private static long convert(String textInput, String binaryOutput, int magic)
+		throws IOException, InvalidNumberException {
+		MappedIntReader reader = new MappedIntReader(textInput);
+		try (RandomAccessFile file = new RandomAccessFile(binaryOutput, "rw")) {
+			file.setLength(0);
+			FileChannel channel = file.getChannel();
+			ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE)
+				.order(ByteOrder.LITTLE_ENDIAN);
+
+			// Error occurs if an invalid number is entered
+			if (reader.hasNextInt() && reader.nextInt() < 0)
+				throw new InvalidNumberException("No valid number of records in "
+					+ textInput);
+
+			// Header, the number of records is filled in at the end
+			buffer.putInt(magic).putInt(0);
+
+			// Read the next line containing a record
+			long records = 0;
+			while (reader.hasNextInt()) {
+				if (buffer.remaining() < 2 * Integer.BYTES) write(channel, buffer);
+				buffer.putInt(reader.nextInt()).putInt(reader.nextInt());
+				records++;
+			}
+			write(channel, buffer);
+
+			// Error occurs if the number of records does not fit the header
+			if (records > Integer.MAX_VALUE)
+				throw new InvalidNumberException("Too many records in "
+					+ textInput + ": " + records);
+
+			// Fill in the number of records
+			buffer.putInt((int) records).flip();
+			channel.write(buffer, Integer.BYTES);
+			return records;
+		} finally {
+			reader.close();
+		}
+	}
+
+	/**
+	 * Writes the whole buffer to the channel, and clears it.
+	 */
+	private static void write(FileChannel channel, ByteBuffer buffer)
+		throws IOException {
+		buffer.flip();
+		while (buffer.hasRemaining()) channel.write(buffer);
+		buffer.clear();
+	}
+
+	/**
+	 * Reads four ASCII characters as a little-endian integer, which is how
+	 * they appear at the start of a binary file.
+	 */
+	private static int magic(String characters) {
+		return characters.charAt(0) | characters.charAt(1) << 8
+			| characters.charAt(2) << 16 | characters.charAt(3) << 24;
+	}
+}
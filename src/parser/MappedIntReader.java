@@ -0,0 +1,289 @@
+package src.parser;
+
+// Java SDK libraries
+import java.io.Closeable;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.NoSuchElementException;
+
+/**
+ * <p>The <code>MappedIntReader</code> class reads whitespace separated ASCII
+ * integers from a disk file. The file is memory-mapped and each integer is
+ * decoded directly from the mapped bytes, so no <code>String</code> or other
+ * object is created per line or per integer.
+ *
+ * <p>A disk file that starts with the magic number of a binary input file,
+ * as written by {@link BinaryConverter}, is read as little-endian 32-bit
+ * integers instead, right after the magic number, so nothing is decoded.
+ *
+ * <p>Files larger than a single mapping are mapped one region at a time. An
+ * <code>IOException</code> while mapping a region is rethrown as an
+ * <code>UncheckedIOException</code>.
+ *
+ * @author Richard I. Zhunio
+ * @see MemorySlotParser
+ * @see ProcessParser
+ * @see TraceParser
+ * @see BinaryConverter
+ */
+class MappedIntReader implements Closeable {
+	/** Largest number of bytes mapped at once */
+	private static final long REGION_SIZE = 1L << 30;
+
+	/** Channel to the disk file */
+	private final FileChannel channel;
+
+	/** Length of the disk file in bytes */
+	private final long length;
+
+	/** Currently mapped region of the disk file */
+	private MappedByteBuffer region;
+
+	/** Offset in the disk file where the mapped region starts */
+	private long regionStart;
+
+	/** Number of bytes in the mapped region */
+	private int regionLength;
+
+	/** Position of the next byte to read in the mapped region */
+	private int position;
+
+	/** True if the disk file is a binary input file */
+	private final boolean binary;
+
+	/**
+	 * Creates a new <code>MappedIntReader</code>.
+	 *
+	 * @param file the filepath to the disk file.
+	 * @throws FileNotFoundException if <code>file</code> is not a correct
+	 *                               path to a disk file.
+	 */
+	MappedIntReader(String file) throws FileNotFoundException {
+		this(file, 0);
+	}
+
+	/**
+	 * Creates a new <code>MappedIntReader</code> that reads the disk file as
+	 * binary if it starts with the given magic number.
+	 *
+	 * @param file  the filepath to the disk file.
+	 * @param magic the magic number of the binary input file, or 0 to
+	 *              always read the disk file as text.
+	 * @throws FileNotFoundException if <code>file</code> is not a correct
+	 *                               path to a disk file.
+	 */
+	MappedIntReader(String file, int magic) throws FileNotFoundException {
+		channel = new RandomAccessFile(file, "r").getChannel();
+		try {
+			length = channel.size();
+			binary = magic != 0 && startsWith(channel, magic);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+
+		// Integers start right after the magic number
+		if (binary) {
+			available();
+			position = Integer.BYTES;
+		}
+	}
+
+	/**
+	 * Retrieves the length of the disk file in bytes.
+	 *
+	 * @return the length of the disk file in bytes.
+	 */
+	long length() {
+		return length;
+	}
+
+	/**
+	 * Bounds a number of entries read from the disk file by the number of
+	 * entries the disk file can actually hold, so that a wrong number does
+	 * not cause a huge allocation. Every entry takes at least four bytes.
+	 *
+	 * @param entries the number of entries read from the disk file.
+	 * @return the number of entries to make room for.
+	 */
+	int capacity(int entries) {
+		return (int) Math.max(0, Math.min(entries, length / 4 + 1));
+	}
+
+	/**
+	 * Tests whether the disk file is read as a binary input file.
+	 *
+	 * @return true if the disk file starts with the magic number.
+	 */
+	boolean isBinary() {
+		return binary;
+	}
+
+	/**
+	 * Tests whether another integer is left in the disk file.
+	 *
+	 * @return true if another integer is left in the disk file.
+	 */
+	boolean hasNextInt() {
+		if (binary) return available();
+
+		// Skip whitespace in front of the next integer
+		while (available() && isWhitespace(region.get(position)))
+			position++;
+
+		return available();
+	}
+
+	/**
+	 * Reads the next integer from the disk file.
+	 *
+	 * @return the next integer in the disk file.
+	 * @throws NoSuchElementException if no integer is left in the disk file.
+	 * @throws NumberFormatException  if the next token is not a valid
+	 *                                <code>int</code>.
+	 */
+	int nextInt() {
+		return (int) nextNumber(Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Reads the next integer from the disk file as a <code>long</code>.
+	 *
+	 * @return the next integer in the disk file.
+	 * @throws NoSuchElementException if no integer is left in the disk file.
+	 * @throws NumberFormatException  if the next token is not a valid
+	 *                                <code>long</code>.
+	 */
+	long nextLong() {
+		return nextNumber(Long.MAX_VALUE);
+	}
+
+	/**
+	 * Reads the next token from the disk file, which must be a single
+	 * character.
+	 *
+	 * @return the character of the next token.
+	 * @throws NoSuchElementException if no token is left in the disk file.
+	 * @throws NumberFormatException  if the next token is longer than one
+	 *                                character.
+	 */
+	char nextChar() {
+		if (!hasNextInt())
+			throw new NoSuchElementException("No token left in the file");
+
+		char character = (char) region.get(position++);
+
+		// Error occurs if the token goes on
+		if (available() && !isWhitespace(region.get(position)))
+			throw new NumberFormatException("Invalid character at byte "
+				+ (regionStart + position));
+
+		return character;
+	}
+
+	/**
+	 * Reads the next integer from the disk file, which may be as large as
+	 * <code>max</code> or as small as <code>-max - 1</code>.
+	 */
+	private long nextNumber(long max) {
+		if (!hasNextInt())
+			throw new NoSuchElementException("No integer left in the file");
+
+		// Binary integers are read as they are
+		if (binary) {
+			if (regionLength - position < Integer.BYTES)
+				throw new NumberFormatException("Truncated integer at byte "
+					+ (regionStart + position));
+			int value = region.getInt(position);
+			position += Integer.BYTES;
+			return value;
+		}
+
+		// Read the optional sign
+		boolean negative = region.get(position) == '-';
+		if (negative || region.get(position) == '+') position++;
+
+		// Accumulate digits, as a negative value so that -max - 1 fits
+		long value = 0;
+		long min = negative ? -max - 1 : -max;
+		int digits = 0;
+		while (available() && !isWhitespace(region.get(position))) {
+			byte digit = region.get(position++);
+
+			// Error occurs if a character is not a digit or the value overflows
+			if (digit < '0' || digit > '9' || value < (min + (digit - '0')) / 10)
+				throw new NumberFormatException("Invalid integer at byte "
+					+ (regionStart + position - 1));
+			value = 10 * value - (digit - '0');
+			digits++;
+		}
+
+		// Error occurs if only a sign was read
+		if (digits == 0)
+			throw new NumberFormatException("Invalid integer at byte "
+				+ (regionStart + position));
+
+		return negative ? value : -value;
+	}
+
+	/**
+	 * Closes the channel to the disk file. Regions already mapped stay valid.
+	 */
+	@Override
+	public void close() {
+		try {
+			channel.close();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Makes sure the byte at <code>position</code> is mapped, mapping the next
+	 * region of the disk file when the current one has been read.
+	 *
+	 * @return false if the end of the disk file has been reached.
+	 */
+	private boolean available() {
+		if (position < regionLength) return true;
+
+		// Start of the next region, which is the end of the current one
+		long next = regionStart + regionLength;
+		if (next >= length) return false;
+
+		try {
+			regionLength = (int) Math.min(REGION_SIZE, length - next);
+			region = channel.map(FileChannel.MapMode.READ_ONLY, next, regionLength);
+			region.order(ByteOrder.LITTLE_ENDIAN);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+
+		regionStart = next;
+		position = 0;
+		return true;
+	}
+
+	/**
+	 * Tests whether a disk file starts with a magic number.
+	 */
+	private static boolean startsWith(FileChannel channel, int magic)
+		throws IOException {
+		ByteBuffer header = ByteBuffer.allocate(Integer.BYTES)
+			.order(ByteOrder.LITTLE_ENDIAN);
+		while (header.hasRemaining()) {
+			if (channel.read(header, header.position()) < 0) return false;
+		}
+		return header.getInt(0) == magic;
+	}
+
+	private static boolean isWhitespace(byte character) {
+		return character == ' ' || character == '\n' || character == '\r'
+			|| character == '\t';
+	}
+}
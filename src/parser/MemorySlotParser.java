@@ -4,10 +4,8 @@ package src.parser;
 import src.memory.MemorySlot;
 
 // Java SDK libraries
-import java.io.File;
 import java.io.FileNotFoundException;
-import java.util.LinkedList;
-import java.util.Scanner;
+import java.util.ArrayList;
 
 /**
  * The <code>MemorySlotParser</code> class is responsible for parsing the
@@ -20,12 +18,17 @@ import java.util.Scanner;
  * 	... ...
  * }</pre></blockquote>
  *
+ * <p>The file is memory-mapped and read with a {@link MappedIntReader}, and
+ * the number of memory slots on the first line is used to size the list.
+ * A binary file written by {@link BinaryConverter} is read the same way,
+ * without decoding any text.
+ *
  * @author Richard I. Zhunio
  * @see MemorySlot
  */
 public class MemorySlotParser {
-	/** Scanner that will read the contents of the disk file */
-	private Scanner reader;
+	/** Reader that will decode the contents of the disk file */
+	private MappedIntReader reader;
 
 	/**
 	 * Creates a new <code>MemorySlotParser</code>.
@@ -35,7 +38,7 @@ public class MemorySlotParser {
 	 *                               path to the Minput.data.
 	 */
 	public MemorySlotParser(String file) throws FileNotFoundException {
-		reader = new Scanner(new File(file));
+		reader = new MappedIntReader(file, BinaryConverter.SLOTS_MAGIC);
 	}
 
 	/**
@@ -45,20 +48,23 @@ public class MemorySlotParser {
 	 * @throws InvalidNumberException if an invalid number of memory slots is
 	 *                                provided.
 	 */
-	@SuppressWarnings("unused")
-	public LinkedList<MemorySlot> parse() throws InvalidNumberException {
-
-		// Represents a list of memory slots
-		LinkedList<MemorySlot> listOfSlots = new LinkedList<>();
-
-		// Read number of memory slots
-		int slotsNo = readSlotsNo();
-
-		// Read list of memory slots from file disk
-		readMemorySlots(listOfSlots);
-
-		// Return list of memory slots
-		return listOfSlots;
+	public ArrayList<MemorySlot> parse() throws InvalidNumberException {
+		try {
+			// Read number of memory slots
+			int slotsNo = readSlotsNo();
+
+			// Represents a list of memory slots, sized from the number read
+			ArrayList<MemorySlot> listOfSlots =
+				new ArrayList<>(reader.capacity(slotsNo));
+
+			// Read list of memory slots from file disk
+			readMemorySlots(listOfSlots);
+
+			// Return list of memory slots
+			return listOfSlots;
+		} finally {
+			reader.close();
+		}
 	}
 
 	/**
@@ -74,11 +80,11 @@ public class MemorySlotParser {
 		// if invalid number of processes
 		int slotsNo = -1;
 
-		// Read the first line from the disk file
-		if (reader.hasNextLine()) {
+		// Read the first value from the disk file
+		if (reader.hasNextInt()) {
 
-			// Read the very first line on the disk file
-			slotsNo = Integer.parseInt(reader.nextLine());
+			// Read the very first value on the disk file
+			slotsNo = reader.nextInt();
 
 			// Error occurs if an invalid number is entered
 			if (slotsNo < 0)
@@ -94,18 +100,14 @@ public class MemorySlotParser {
 	 *
 	 * @param listOfSlots list to hold <code>MemorySlot</code>s.
 	 */
-	private void readMemorySlots(LinkedList<MemorySlot> listOfSlots) {
+	private void readMemorySlots(ArrayList<MemorySlot> listOfSlots) {
 
 		// Read the next line containing memory slot
-		while (reader.hasNextLine()) {
-
-			// Retrieve next line to parse
-			String line = reader.nextLine();
-			Scanner parser = new Scanner(line);
+		while (reader.hasNextInt()) {
 
 			// Parse the line to obtain memory slot starting and ending address
-			int startAddr = parser.nextInt();
-			int endAddr = parser.nextInt();
+			int startAddr = reader.nextInt();
+			int endAddr = reader.nextInt();
 
 			// Add new free memory slot to the list
 			listOfSlots.add(new MemorySlot(startAddr, endAddr));
@@ -3,12 +3,10 @@ package src.parser;
 // User defined libraries
 
 import src.memory.Process;
+import src.memory.ProcessTable;
 
 // Java SDK libraries
-import java.io.File;
 import java.io.FileNotFoundException;
-import java.util.LinkedList;
-import java.util.Scanner;
 
 /**
  * The <code>ProcessParser</code> class is responsible for parsing the
@@ -21,12 +19,17 @@ import java.util.Scanner;
  * 	... ...
  * }</pre></blockquote>
  *
+ * <p>The file is memory-mapped and read with a {@link MappedIntReader}, and
+ * the number of processes on the first line is used to size the table.
+ * A binary file written by {@link BinaryConverter} is read the same way,
+ * without decoding any text.
+ *
  * @author Richard I. Zhunio
  * @see Process
  */
 public class ProcessParser {
-	/** Scanner that will read the contents of the disk file */
-	private Scanner reader;
+	/** Reader that will decode the contents of the disk file */
+	private MappedIntReader reader;
 
 	/**
 	 * Creates a new <code>ProcessParser</code>.
@@ -36,28 +39,32 @@ public class ProcessParser {
 	 *                               path to the Pinput.data
 	 */
 	public ProcessParser(String file) throws FileNotFoundException {
-		reader = new Scanner(new File(file));
+		reader = new MappedIntReader(file, BinaryConverter.PROCESSES_MAGIC);
 	}
 
 	/**
 	 * Parses a Pinput.data file.
 	 *
-	 * @return list of <code>Process</code>s read from the Pinput.data file
+	 * @return table of <code>Process</code>es read from the Pinput.data file
 	 * @throws InvalidNumberException if invalid number processes are provided.
 	 */
-	@SuppressWarnings("unused")
-	public LinkedList<Process> parse() throws InvalidNumberException {
-		// Represents a list of processes
-		LinkedList<Process> listOfProcesses = new LinkedList<>();
-
-		// Read number of processes
-		int processNo = readProcessNo();
-
-		// Read list of processes from file disk
-		readProcesses(listOfProcesses);
-
-		// Return list of processes
-		return listOfProcesses;
+	public ProcessTable parse() throws InvalidNumberException {
+		try {
+			// Read number of processes
+			int processNo = readProcessNo();
+
+			// Represents a table of processes, sized from the number read
+			ProcessTable listOfProcesses =
+				new ProcessTable(reader.capacity(processNo));
+
+			// Read list of processes from file disk
+			readProcesses(listOfProcesses);
+
+			// Return list of processes
+			return listOfProcesses;
+		} finally {
+			reader.close();
+		}
 	}
 
 	/**
@@ -72,11 +79,11 @@ public class ProcessParser {
 		// if invalid number of processes
 		int processNo = -1;
 
-		// Read the first line from the disk file
-		if (reader.hasNextLine()) {
+		// Read the first value from the disk file
+		if (reader.hasNextInt()) {
 
-			// Read the very first line on the disk file
-			processNo = Integer.parseInt(reader.nextLine());
+			// Read the very first value on the disk file
+			processNo = reader.nextInt();
 
 			// Error occurs if an invalid number is entered
 			if (processNo < 0)
@@ -88,25 +95,21 @@ public class ProcessParser {
 	}
 
 	/**
-	 * Reads processes from Pinput.data and adds them to a list.
+	 * Reads processes from Pinput.data and adds them to a table.
 	 *
-	 * @param listOfProcesses list to hold <code>Process</code>s.
+	 * @param listOfProcesses table to hold <code>Process</code>es.
 	 */
-	private void readProcesses(LinkedList<Process> listOfProcesses) {
+	private void readProcesses(ProcessTable listOfProcesses) {
 
 		// Read the next line containing a process
-		while (reader.hasNextLine()) {
-
-			// Retrieve next line to parse
-			String line = reader.nextLine();
-			Scanner parser = new Scanner(line);
+		while (reader.hasNextInt()) {
 
 			// Parse the line to obtain process id and size
-			int processID = parser.nextInt();
-			int processSize = parser.nextInt();
+			int processID = reader.nextInt();
+			int processSize = reader.nextInt();
 
 			// Add new process to the list
-			listOfProcesses.add(new Process(processID, processSize));
+			listOfProcesses.add(processID, processSize);
 		}
 	}
 }
\ No newline at end of file
@@ -0,0 +1,87 @@
+package src.parser;
+
+// User defined libraries
+import src.memory.Process;
+
+// Java SDK libraries
+import java.io.Closeable;
+import java.io.FileNotFoundException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * <p>The <code>ProcessStream</code> class reads the processes of a
+ * Pinput.data file one at a time, as they are asked for, instead of
+ * parsing the whole file up front like {@link ProcessParser}. Memory use
+ * does not grow with the number of processes, and the first process is
+ * available before the rest of the file has been read.
+ *
+ * <p>The number of processes on the first line is skipped, and every
+ * process that follows is returned. Binary files written by
+ * {@link BinaryConverter} are read as well. The same <code>Process</code>
+ * is returned by every call to {@link #next}, so it must not be kept.
+ *
+ * @author Richard I. Zhunio
+ * @see ProcessParser
+ * @see Process
+ */
+public class ProcessStream implements Iterator<Process>, Closeable {
+	/** Reader that will decode the contents of the disk file */
+	private MappedIntReader reader;
+
+	/** Process returned by every call to next */
+	private final Process process = new Process(0, 0);
+
+	/**
+	 * Creates a new <code>ProcessStream</code>.
+	 *
+	 * @param file the filepath to the Pinput.data
+	 * @throws FileNotFoundException  if <code>file</code> is not a correct
+	 *                                path to the Pinput.data
+	 * @throws InvalidNumberException if invalid number processes are provided.
+	 */
+	public ProcessStream(String file)
+		throws FileNotFoundException, InvalidNumberException {
+		reader = new MappedIntReader(file, BinaryConverter.PROCESSES_MAGIC);
+
+		// Skip the number of processes
+		if (reader.hasNextInt()) {
+			int processNo = reader.nextInt();
+
+			// Error occurs if an invalid number is entered
+			if (processNo < 0) {
+				reader.close();
+				throw new InvalidNumberException("No valid number of processes: "
+					+ processNo);
+			}
+		}
+	}
+
+	@Override
+	public boolean hasNext() {
+		return reader.hasNextInt();
+	}
+
+	/**
+	 * Reads the next process.
+	 *
+	 * @return the next process, which is reused by the next call.
+	 * @throws NoSuchElementException if no process is left in the file.
+	 * @throws NumberFormatException  if the file contains an invalid number.
+	 */
+	@Override
+	public Process next() {
+		// Parse the line to obtain process id and size
+		process.id = reader.nextInt();
+		process.size = reader.nextInt();
+		return process;
+	}
+
+	/**
+	 * Closes the Pinput.data file.
+	 */
+	@Override
+	public void close() {
+		reader.close();
+	}
+}
@@ -0,0 +1,86 @@
+package src.parser;
+
+// User defined libraries
+import src.memory.TraceEvent;
+
+// Java SDK libraries
+import java.io.Closeable;
+import java.io.FileNotFoundException;
+
+/**
+ * The <code>TraceParser</code> class is responsible for parsing a trace file.
+ * A trace file contains a time-ordered list of allocations and frees. The
+ * format of a trace file is as follows:
+ * <blockquote><pre>{@code
+ * 	0 A 1 190   = timestamp, allocate, process id and size
+ * 	5 A 2 40
+ * 	9 F 1 0     = timestamp, free, process id and size (ignored)
+ * 	... ...
+ * }</pre></blockquote>
+ *
+ * <p>Unlike the Minput.data and Pinput.data files, a trace file has no count
+ * on its first line and is never read as a whole. Events are read one at a
+ * time with {@link #next}, so a trace of any length is parsed in constant
+ * memory. Timestamps must never decrease.
+ *
+ * @author Richard I. Zhunio
+ * @see TraceEvent
+ */
+public class TraceParser implements Closeable {
+	/** Reader that will decode the contents of the disk file */
+	private MappedIntReader reader;
+
+	/** Timestamp of the previous event */
+	private long lastTimestamp = Long.MIN_VALUE;
+
+	/**
+	 * Creates a new <code>TraceParser</code>.
+	 *
+	 * @param file the filepath to the trace file.
+	 * @throws FileNotFoundException if <code>file</code> is not a correct
+	 *                               path to the trace file.
+	 */
+	public TraceParser(String file) throws FileNotFoundException {
+		reader = new MappedIntReader(file);
+	}
+
+	/**
+	 * Reads the next event of the trace file into <code>event</code>.
+	 *
+	 * @param event the event to fill in.
+	 * @return false if no event is left in the trace file.
+	 * @throws InvalidNumberException if the operation is unknown or the
+	 *                                timestamp goes back in time.
+	 */
+	public boolean next(TraceEvent event) throws InvalidNumberException {
+		// Read the next line containing an event
+		if (!reader.hasNextInt()) return false;
+
+		// Parse the line to obtain timestamp, operation, process id and size
+		event.timestamp = reader.nextLong();
+		event.op = reader.nextChar();
+		event.id = reader.nextInt();
+		event.size = reader.nextInt();
+
+		// Error occurs if the operation is unknown
+		if (event.op != TraceEvent.ALLOCATE && event.op != TraceEvent.FREE)
+			throw new InvalidNumberException("No valid trace operation: "
+				+ event.op);
+
+		// Error occurs if the trace is not in time order
+		if (event.timestamp < lastTimestamp)
+			throw new InvalidNumberException("Trace timestamp goes back in time: "
+				+ event.timestamp);
+		lastTimestamp = event.timestamp;
+
+		return true;
+	}
+
+	/**
+	 * Closes the trace file.
+	 */
+	@Override
+	public void close() {
+		reader.close();
+	}
+}